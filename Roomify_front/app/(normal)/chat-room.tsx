@@ -8,11 +8,15 @@ import { Ionicons } from '@expo/vector-icons';
 import { useSafeAreaInsets } from 'react-native-safe-area-context';
 import { Blue, Neutral, Spacing, Typography, BorderRadius, Shadows } from '@/constants/theme';
 import { useAuth } from '@/context/AuthContext';
-import { ChatApi, UsersApi, PublicUserProfile } from '@/services/api';
+import { ChatApi, UsersApi, PublicUserProfile, transformMessage, mergeLatestPage } from '@/services/api';
+import { subscribeToChatEvents } from '@/services/chatSocket';
 import { SystemMessage, ActionCard } from '@/components/ui';
 import type { ChatMessage as ChatMessageType } from '@/constants/types';
 import ReportModal from '@/components/report-modal';
 
+// Messages per history page; older pages load on demand
+const MESSAGE_PAGE = 50;
+
 export default function TenantChatRoomScreen() {
     const { chatId, title, subTitle, otherUserId } = useLocalSearchParams();
     const router = useRouter();
@@ -23,6 +27,9 @@ export default function TenantChatRoomScreen() {
     const [messages, setMessages] = useState<ChatMessageType[]>([]);
     const [inputText, setInputText] = useState('');
     const [isLoading, setIsLoading] = useState(true);
+    const [hasOlder, setHasOlder] = useState(false);
+    const [loadingOlder, setLoadingOlder] = useState(false);
+    const keepScrollRef = useRef(false);
     const [sending, setSending] = useState(false);
 
     // UI & Workflow State
@@ -53,9 +60,11 @@ export default function TenantChatRoomScreen() {
             const matchId = Array.isArray(chatId) ? chatId[0] : chatId;
             if (!token || !matchId) return;
 
-            const response = await ChatApi.getMessages(token, matchId);
+            const response = await ChatApi.getMessages(token, matchId, { limit: MESSAGE_PAGE });
             if (response.data) {
-                setMessages(response.data);
+                const page = response.data;
+                setMessages(prev => mergeLatestPage(prev, page));
+                if (showLoading) setHasOlder(page.length === MESSAGE_PAGE);
             }
         } catch (error) {
             console.error("Failed to fetch messages", error);
@@ -64,6 +73,56 @@ export default function TenantChatRoomScreen() {
         }
     }, [chatId, getAccessToken]);
 
+    // Older history, one page before the oldest loaded message
+    const loadOlder = useCallback(async () => {
+        if (loadingOlder || messages.length === 0) return;
+        setLoadingOlder(true);
+        try {
+            const token = await getAccessToken();
+            const matchId = Array.isArray(chatId) ? chatId[0] : chatId;
+            if (!token || !matchId) return;
+
+            const response = await ChatApi.getMessages(token, matchId, { before: messages[0].id, limit: MESSAGE_PAGE });
+            if (response.data) {
+                const page = response.data;
+                keepScrollRef.current = true;
+                setMessages(prev => [...page, ...prev]);
+                setHasOlder(page.length === MESSAGE_PAGE);
+            }
+        } catch (error) {
+            console.error("Failed to load older messages", error);
+        } finally {
+            setLoadingOlder(false);
+        }
+    }, [chatId, getAccessToken, loadingOlder, messages]);
+
+    // After a reconnect: only the messages newer than the last one we have
+    const catchUp = useCallback(async () => {
+        const lastId = [...messages].reverse().find(m => !isNaN(Number(m.id)))?.id;
+        if (!lastId) {
+            fetchMessages();
+            return;
+        }
+        try {
+            const token = await getAccessToken();
+            const matchId = Array.isArray(chatId) ? chatId[0] : chatId;
+            if (!token || !matchId) return;
+
+            const response = await ChatApi.getMessages(token, matchId, { after: lastId, limit: MESSAGE_PAGE });
+            if (!response.data) return;
+            if (response.data.length === MESSAGE_PAGE) {
+                // Missed more than a page: start over from the latest one
+                fetchMessages();
+            } else if (response.data.length > 0) {
+                const newer = response.data;
+                setMessages(prev => [...prev.filter(m => !newer.some(n => n.id === m.id)), ...newer]);
+                markAsRead();
+            }
+        } catch (error) {
+            console.error("Failed to catch up on messages", error);
+        }
+    }, [chatId, getAccessToken, messages, fetchMessages]);
+
     // --- 2. Mark Messages as Read ---
     const markAsRead = useCallback(async () => {
         try {
@@ -139,20 +198,45 @@ export default function TenantChatRoomScreen() {
         fetchLandlord();
     }, [otherUserId, getAccessToken]);
 
-    // --- 3. Lifecycle & Polling ---
+    // --- 3. Lifecycle & Live Updates ---
     useEffect(() => {
         fetchMessages(true);
         markAsRead();
         fetchMatchInfo();
+    }, [fetchMessages, markAsRead, fetchMatchInfo]);
+
+    const catchUpRef = useRef(catchUp);
+    catchUpRef.current = catchUp;
 
-        const interval = setInterval(() => {
-            fetchMessages(false);
+    // New messages are pushed over the chat socket instead of polled
+    useEffect(() => {
+        const matchId = Array.isArray(chatId) ? chatId[0] : chatId;
+        const unsubscribe = subscribeToChatEvents(getAccessToken, (event) => {
+            if (event.matchId !== matchId) return;
+            if (event.type === 'READ') {
+                // Read receipt: the other side has seen our messages
+                if (event.reader === 'other') {
+                    setMessages(prev => prev.map(m => m.sender === 'me' && !m.isRead ? { ...m, isRead: true } : m));
+                }
+                return;
+            }
+            const incoming = transformMessage(event.message);
+            // Own messages are already refreshed by the action that sent them
+            if (incoming.sender === 'me') return;
+            setMessages(prev => prev.some(m => m.id === incoming.id) ? prev : [...prev, incoming]);
             markAsRead();
+            // Action cards and system messages change the match state
+            if (incoming.type !== 'TEXT') {
+                fetchMessages();
+                fetchMatchInfo();
+            }
+        }, () => {
+            // Re-sync whatever was missed while disconnected
+            catchUpRef.current();
             fetchMatchInfo();
-        }, 3000);
-
-        return () => clearInterval(interval);
-    }, [fetchMessages, markAsRead, fetchMatchInfo]);
+        });
+        return unsubscribe;
+    }, [chatId, getAccessToken, fetchMessages, markAsRead, fetchMatchInfo]);
 
     // --- 4. Send Text Message ---
     const sendMessage = async () => {
@@ -398,7 +482,21 @@ export default function TenantChatRoomScreen() {
                     keyExtractor={item => item.id}
                     renderItem={renderMessage}
                     contentContainerStyle={styles.listContent}
-                    onContentSizeChange={() => flatListRef.current?.scrollToEnd({ animated: false })}
+                    ListHeaderComponent={hasOlder ? (
+                        <TouchableOpacity style={styles.loadEarlier} onPress={loadOlder} disabled={loadingOlder}>
+                            {loadingOlder
+                                ? <ActivityIndicator size="small" color={Blue[600]} />
+                                : <Text style={styles.loadEarlierText}>Load earlier messages</Text>}
+                        </TouchableOpacity>
+                    ) : null}
+                    onContentSizeChange={() => {
+                        // Stay put when older messages were prepended
+                        if (keepScrollRef.current) {
+                            keepScrollRef.current = false;
+                            return;
+                        }
+                        flatListRef.current?.scrollToEnd({ animated: false });
+                    }}
                 />
             )}
 
@@ -546,6 +644,8 @@ const styles = StyleSheet.create({
     headerAvatarInitial: { color: '#fff', fontWeight: '700' },
     countdownText: { fontSize: 12, color: Neutral[500], marginTop: 2 },
     listContent: { padding: Spacing.md, paddingBottom: Spacing.xl },
+    loadEarlier: { alignSelf: 'center', paddingVertical: Spacing.sm, paddingHorizontal: Spacing.md, marginBottom: Spacing.sm },
+    loadEarlierText: { fontSize: Typography.size.sm, color: Blue[600], fontWeight: Typography.weight.medium },
 
     messageBubble: { maxWidth: '80%', padding: Spacing.md, borderRadius: BorderRadius.lg, marginBottom: Spacing.sm },
     myMessage: { alignSelf: 'flex-end', backgroundColor: Blue[600], borderBottomRightRadius: 2 },
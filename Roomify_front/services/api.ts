@@ -704,7 +704,7 @@ const parseMetadata = (metadataStr: string | null | undefined): ChatMessageMetad
 /**
  * Transform raw API message to typed ChatMessage with parsed metadata.
  */
-const transformMessage = (raw: any): ChatMessage => ({
+export const transformMessage = (raw: any): ChatMessage => ({
   id: raw.id,
   text: raw.text,
   type: raw.type || 'TEXT',
@@ -714,12 +714,35 @@ const transformMessage = (raw: any): ChatMessage => ({
   timestamp: raw.timestamp,
 });
 
+/**
+ * Merge a fresh latest page into the loaded history: keeps the older
+ * messages that were paged in before it and replaces everything from the
+ * start of the page on (optimistic messages included).
+ */
+export const mergeLatestPage = (loaded: ChatMessage[], page: ChatMessage[]): ChatMessage[] => {
+  if (page.length === 0) return [];
+  const firstId = Number(page[0].id);
+  const older = loaded.filter(m => Number(m.id) < firstId);
+  return [...older, ...page];
+};
+
 export const ChatApi = {
   /**
-   * Get messages for a chat room with parsed metadata.
+   * Get messages for a chat room with parsed metadata, oldest first.
+   * Without a page, the whole history; otherwise the latest `limit` messages,
+   * the ones before/after a message id.
    */
-  getMessages: async (accessToken: string, matchId: string): Promise<ApiResponse<ChatMessage[]>> => {
-    const response = await fetchApi<any[]>(`/api/chats/${matchId}/messages`, { method: 'GET' }, accessToken);
+  getMessages: async (
+    accessToken: string,
+    matchId: string,
+    page?: { before?: string; after?: string; limit?: number }
+  ): Promise<ApiResponse<ChatMessage[]>> => {
+    const params = new URLSearchParams();
+    if (page?.before) params.append('before', page.before);
+    if (page?.after) params.append('after', page.after);
+    if (page?.limit) params.append('limit', page.limit.toString());
+    const query = params.toString() ? `?${params.toString()}` : '';
+    const response = await fetchApi<any[]>(`/api/chats/${matchId}/messages${query}`, { method: 'GET' }, accessToken);
     if (response.data) {
       return {
         ...response,
@@ -809,10 +832,10 @@ export const ChatApi = {
   },
 
   /**
-   * Mark messages as read.
+   * Mark messages as read. Returns how many were marked.
    */
   markAsRead: (accessToken: string, matchId: string) =>
-    fetchApi<void>(`/api/chats/${matchId}/read`, { method: 'PUT' }, accessToken),
+    fetchApi<{ markedRead: number }>(`/api/chats/${matchId}/read`, { method: 'PUT' }, accessToken),
 };
 
 export const PaymentsApi = {
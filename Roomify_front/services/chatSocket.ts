@@ -0,0 +1,107 @@
+/**
+ * Chat Socket
+ * Minimal STOMP-over-WebSocket client for server-pushed chat events
+ * (backend: /ws, destination /user/queue/chat).
+ */
+
+import { Platform } from 'react-native';
+
+const getSocketUrl = () => {
+  if (Platform.OS === 'web') {
+    return 'ws://localhost:8080/ws';
+  }
+  return 'ws://' + process.env.EXPO_PUBLIC_BACKEND_IP + ':8080/ws';
+};
+
+export type ChatEvent =
+  | {
+      type: 'MESSAGE';
+      matchId: string;
+      message: any; // raw message DTO, same shape as GET /api/chats/{matchId}/messages
+    }
+  | {
+      // Messages were marked read; reader is 'me' or 'other' from the recipient's side
+      type: 'READ';
+      matchId: string;
+      reader: 'me' | 'other';
+      count: number;
+    };
+
+const NULL = '\u0000';
+const MAX_RETRY_DELAY_MS = 30000;
+
+const frame = (command: string, headers: Record<string, string>) =>
+  command + '\n' + Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n') + '\n\n' + NULL;
+
+/**
+ * Open a socket, authenticate with the access token and deliver chat events
+ * to onEvent. Reconnects with backoff; onReconnect fires after every
+ * reconnection so the caller can re-sync anything missed.
+ * Returns a function that closes the connection.
+ */
+export const subscribeToChatEvents = (
+  getAccessToken: () => Promise<string | null | undefined>,
+  onEvent: (event: ChatEvent) => void,
+  onReconnect?: () => void
+): (() => void) => {
+  let socket: WebSocket | null = null;
+  let closed = false;
+  let retryDelay = 1000;
+  let retryTimer: ReturnType<typeof setTimeout> | null = null;
+  let connectedOnce = false;
+
+  const connect = async () => {
+    const token = await getAccessToken();
+    if (closed || !token) return;
+
+    socket = new WebSocket(getSocketUrl());
+
+    socket.onopen = () => {
+      socket?.send(frame('CONNECT', {
+        'accept-version': '1.2',
+        'heart-beat': '0,0',
+        Authorization: `Bearer ${token}`,
+      }));
+    };
+
+    socket.onmessage = (e) => {
+      const data = typeof e.data === 'string' ? e.data : '';
+      for (const raw of data.split(NULL)) {
+        const text = raw.replace(/^\n+/, '');
+        if (!text) continue;
+        const command = text.substring(0, text.indexOf('\n'));
+        const body = text.substring(text.indexOf('\n\n') + 2);
+
+        if (command === 'CONNECTED') {
+          retryDelay = 1000;
+          socket?.send(frame('SUBSCRIBE', { id: 'chat', destination: '/user/queue/chat' }));
+          if (connectedOnce) onReconnect?.();
+          connectedOnce = true;
+        } else if (command === 'MESSAGE') {
+          try {
+            onEvent(JSON.parse(body) as ChatEvent);
+          } catch (err) {
+            console.warn('[ChatSocket] Bad event payload', err);
+          }
+        } else if (command === 'ERROR') {
+          console.warn('[ChatSocket] Server error:', body);
+        }
+      }
+    };
+
+    socket.onclose = () => {
+      socket = null;
+      if (closed) return;
+      retryTimer = setTimeout(connect, retryDelay);
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+    };
+  };
+
+  connect();
+
+  return () => {
+    closed = true;
+    if (retryTimer) clearTimeout(retryTimer);
+    socket?.close();
+  };
+};
@@ -5,3 +5,4 @@
 
 export * from './api';
 export { default as Api } from './api';
+export * from './chatSocket';
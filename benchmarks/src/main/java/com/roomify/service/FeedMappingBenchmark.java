@@ -0,0 +1,64 @@
+package com.roomify.service;
+
+import com.roomify.model.Property;
+import com.roomify.model.PropertyImage;
+import com.roomify.model.enums.PreferredTenantType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card assembly of PropertyFeedReader from pre-fetched projection rows,
+ * i.e. the DTO mapping cost alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedMappingBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int properties;
+
+    private PropertyFeedReader reader;
+    private long[] ids;
+    private List<Object[]> rows;
+    private List<Object[]> imageRows;
+    private List<Object[]> tenantRows;
+
+    @Setup
+    public void setUp() {
+        reader = new PropertyFeedReader(null);
+        List<Property> catalogue = SyntheticData.properties(properties, 42);
+        ids = new long[properties];
+        rows = new ArrayList<>(properties);
+        imageRows = new ArrayList<>();
+        tenantRows = new ArrayList<>();
+        for (int i = 0; i < properties; i++) {
+            Property p = catalogue.get(i);
+            ids[i] = p.getId();
+            rows.add(new Object[] { p.getId(), p.getTitle(), p.getPrice(), p.getSurface(), p.getAddress(),
+                    p.getDescription(), p.getNumberOfRooms(), p.getHasExtraBathroom(), p.getLayoutType(),
+                    p.getSmokerFriendly(), p.getPetFriendly(), p.getLatitude(), p.getLongitude(),
+                    p.getOwner().getId(), p.getOwner().getFirstName(), p.getOwner().getPicture() });
+            for (PropertyImage image : p.getImages()) {
+                imageRows.add(new Object[] { p.getId(), image.getId(), image.getUrl(), image.getOrderIndex() });
+            }
+            for (PreferredTenantType type : p.getPreferredTenants()) {
+                tenantRows.add(new Object[] { p.getId(), type });
+            }
+        }
+        // The image query sorts by order index
+        imageRows.sort(Comparator.comparingInt(row -> (Integer) row[3]));
+    }
+
+    @Benchmark
+    public Object assemble() {
+        return reader.assemble(ids, rows, imageRows, tenantRows);
+    }
+}
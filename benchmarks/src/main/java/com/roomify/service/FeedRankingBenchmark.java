@@ -0,0 +1,43 @@
+package com.roomify.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sort/shuffle stage of the feed: top-K selection plus diversity swaps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedRankingBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int candidates;
+
+    @Param({ "500" })
+    int k;
+
+    private FeedCandidates scored;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        scored = new FeedCandidates(candidates);
+        for (int i = 0; i < candidates; i++) {
+            // Scores cluster on a few values, like calculateMatchScore's output
+            scored.add(i + 1, 5.0 * random.nextInt(20) + (random.nextInt(4) == 0 ? random.nextDouble() : 0.0));
+        }
+    }
+
+    @Benchmark
+    public long[] rank() {
+        long[] ranked = FeedRanker.topK(scored, k);
+        FeedRanker.shuffleForDiversity(ranked);
+        return ranked;
+    }
+}
@@ -0,0 +1,60 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter + score stage of the feed off the in-memory index, sequential vs
+ * fork-join. Use it to pick roomify.feed.parallel-threshold: the crossover
+ * is the smallest catalogue where "parallel" wins for the no-preferences case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedScoringBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int properties;
+
+    @Param({ "sequential", "parallel" })
+    String mode;
+
+    @Param({ "false", "true" })
+    boolean withPreferences;
+
+    private ForkJoinPool pool;
+    private PropertyIndex index;
+    private FeedScorer scorer;
+    private User tenant;
+    private Preferences preferences;
+    private FeedScorer.TenantHistory history;
+
+    @Setup
+    public void setUp() {
+        index = SyntheticData.index(SyntheticData.properties(properties, 42));
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        int threshold = "parallel".equals(mode) ? 0 : Integer.MAX_VALUE;
+        scorer = new FeedScorer(new PreferencesService(), pool, threshold);
+        tenant = SyntheticData.tenant();
+        preferences = withPreferences ? SyntheticData.preferences() : null;
+        history = new FeedScorer.TenantHistory(List.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public FeedCandidates score() {
+        return scorer.scoreIndex(index, tenant, preferences, scorer.filterFor(tenant, preferences), history);
+    }
+}
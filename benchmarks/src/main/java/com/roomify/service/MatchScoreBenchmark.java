@@ -0,0 +1,52 @@
+package com.roomify.service;
+
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FeedScorer.calculateMatchScore over every property of the catalogue,
+ * as done for a tenant without preferences.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchScoreBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int properties;
+
+    private User tenant;
+    private int[] flags;
+    private int[] tenantTypes;
+    private int[] rooms;
+
+    @Setup
+    public void setUp() {
+        List<Property> catalogue = SyntheticData.properties(properties, 42);
+        tenant = SyntheticData.tenant();
+        flags = new int[properties];
+        tenantTypes = new int[properties];
+        rooms = new int[properties];
+        for (int i = 0; i < properties; i++) {
+            Property p = catalogue.get(i);
+            flags[i] = PropertyIndex.flagsOf(p.getPetFriendly(), p.getSmokerFriendly(), p.getHasExtraBathroom());
+            tenantTypes[i] = PropertyIndex.tenantTypeMask(p.getPreferredTenants());
+            rooms[i] = p.getNumberOfRooms();
+        }
+    }
+
+    @Benchmark
+    public void scoreAll(Blackhole bh) {
+        for (int i = 0; i < properties; i++) {
+            bh.consume(FeedScorer.calculateMatchScore(tenant, flags[i], tenantTypes[i], rooms[i]));
+        }
+    }
+}
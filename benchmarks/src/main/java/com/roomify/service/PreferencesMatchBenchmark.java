@@ -0,0 +1,46 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.Property;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PreferencesService.propertyMatchesPreferences over the whole catalogue
+ * with a typical price/rooms/pets/10 km search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreferencesMatchBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int properties;
+
+    private PreferencesService preferencesService;
+    private Preferences preferences;
+    private List<Property> catalogue;
+
+    @Setup
+    public void setUp() {
+        preferencesService = new PreferencesService();
+        preferences = SyntheticData.preferences();
+        catalogue = SyntheticData.properties(properties, 42);
+    }
+
+    @Benchmark
+    public void matchAll(Blackhole bh) {
+        for (Property p : catalogue) {
+            bh.consume(preferencesService.propertyMatchesPreferences(
+                    p.getPrice().doubleValue(), p.getSurface(), p.getNumberOfRooms(),
+                    p.getLayoutType().name(), p.getPetFriendly(), p.getSmokerFriendly(),
+                    p.getLatitude(), p.getLongitude(), preferences));
+        }
+    }
+}
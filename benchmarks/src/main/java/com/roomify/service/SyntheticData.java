@@ -0,0 +1,119 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.Property;
+import com.roomify.model.PropertyImage;
+import com.roomify.model.User;
+import com.roomify.model.enums.LayoutType;
+import com.roomify.model.enums.PreferredTenantType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded, database-free fixtures for the benchmarks. Properties are spread
+ * over a ~100 km square around Bucharest, like the real catalogue.
+ */
+final class SyntheticData {
+
+    static final String TENANT_ID = "auth0|bench-tenant";
+
+    private static final LayoutType[] LAYOUTS = LayoutType.values();
+    private static final PreferredTenantType[] TENANT_TYPES = PreferredTenantType.values();
+
+    private SyntheticData() {
+    }
+
+    static List<Property> properties(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            User owner = new User();
+            owner.setId("auth0|bench-owner-" + i);
+            owner.setFirstName("Owner" + i);
+            owner.setPicture("https://example.com/owners/" + i + ".jpg");
+            owners.add(owner);
+        }
+
+        List<Property> properties = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Property p = new Property();
+            p.setId((long) i + 1);
+            p.setOwner(owners.get(random.nextInt(owners.size())));
+            p.setTitle("Apartment " + i);
+            p.setAddress("Strada Exemplu " + i);
+            p.setDescription("Synthetic listing " + i);
+            p.setPrice(BigDecimal.valueOf(200 + random.nextInt(1800)));
+            p.setSurface(25.0 + random.nextInt(125));
+            p.setNumberOfRooms(1 + random.nextInt(5));
+            p.setHasExtraBathroom(random.nextBoolean());
+            p.setLayoutType(LAYOUTS[random.nextInt(LAYOUTS.length)]);
+            p.setPetFriendly(random.nextBoolean());
+            p.setSmokerFriendly(random.nextBoolean());
+            p.setLatitude(44.0 + random.nextDouble());
+            p.setLongitude(25.6 + random.nextDouble());
+
+            Set<PreferredTenantType> tenants = EnumSet.noneOf(PreferredTenantType.class);
+            for (PreferredTenantType type : TENANT_TYPES) {
+                if (random.nextInt(3) == 0) {
+                    tenants.add(type);
+                }
+            }
+            p.setPreferredTenants(tenants);
+
+            int imageCount = 1 + random.nextInt(7);
+            List<PropertyImage> images = new ArrayList<>(imageCount);
+            for (int j = imageCount - 1; j >= 0; j--) {
+                PropertyImage image = new PropertyImage();
+                image.setId((long) i * 10 + j);
+                image.setUrl("/api/properties/images/" + i + "_" + j + ".jpg");
+                image.setOrderIndex(j);
+                image.setProperty(p);
+                images.add(image);
+            }
+            p.setImages(images);
+            properties.add(p);
+        }
+        return properties;
+    }
+
+    static User tenant() {
+        User tenant = new User();
+        tenant.setId(TENANT_ID);
+        tenant.setHasPets(true);
+        tenant.setIsSmoker(false);
+        tenant.setMinRooms(2);
+        tenant.setWantsExtraBathroom(true);
+        tenant.setTenantType(TENANT_TYPES[0]);
+        return tenant;
+    }
+
+    /**
+     * Typical city search: price and room bounds, pets, 10 km around the centre.
+     */
+    static Preferences preferences() {
+        Preferences prefs = new Preferences();
+        prefs.setMinPrice(BigDecimal.valueOf(300));
+        prefs.setMaxPrice(BigDecimal.valueOf(1200));
+        prefs.setMinRooms(1);
+        prefs.setMaxRooms(4);
+        prefs.setPetFriendly(true);
+        prefs.setLayoutTypes(EnumSet.allOf(LayoutType.class));
+        prefs.setSearchLatitude(44.43);
+        prefs.setSearchLongitude(26.10);
+        prefs.setSearchRadiusKm(10.0);
+        return prefs;
+    }
+
+    static PropertyIndex index(List<Property> properties) {
+        PropertyIndex index = new PropertyIndex(null, null);
+        for (Property p : properties) {
+            index.upsert(PropertyIndex.rowOf(p));
+        }
+        return index;
+    }
+}
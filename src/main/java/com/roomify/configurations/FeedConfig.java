@@ -0,0 +1,19 @@
+package com.roomify.configurations;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class FeedConfig {
+
+    // Dedicated pool for large feed scoring passes, so they never compete with
+    // parallel streams or other users of the common pool
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool feedScoringPool(@Value("${roomify.feed.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+}
@@ -0,0 +1,42 @@
+package com.roomify.configurations.security;
+
+import com.roomify.repository.UserRepository;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Guards /api/admin/**. Roles live in the users table, not in the Auth0
+ * token, so the caller's role is looked up by token subject; only admin
+ * routes pay for that query.
+ */
+@Component
+public class AdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final UserRepository userRepository;
+
+    public AdminAuthorizationManager(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+                                         RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof Jwt jwt)) {
+            return new AuthorizationDecision(false);
+        }
+        boolean admin = userRepository.findRoleNameById(jwt.getSubject())
+                .map(ADMIN_ROLE::equalsIgnoreCase)
+                .orElse(false);
+        return new AuthorizationDecision(admin);
+    }
+}
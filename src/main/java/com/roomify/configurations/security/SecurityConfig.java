@@ -27,7 +27,7 @@ public class SecurityConfig {
     private String audience;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AdminAuthorizationManager adminAccess) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -39,7 +39,10 @@ public class SecurityConfig {
                         .requestMatchers("/user/interview/video/**").permitAll()
                         .requestMatchers("/user/images/**").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // WebSocket handshake; STOMP CONNECT carries the JWT (StompAuthChannelInterceptor)
+                        .requestMatchers("/ws").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/api/admin/**").access(adminAccess)
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(Customizer.withDefaults()));
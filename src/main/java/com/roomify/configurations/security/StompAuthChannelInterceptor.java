@@ -0,0 +1,65 @@
+package com.roomify.configurations.security;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions with the same Auth0 JWT as the REST API
+ * ("Authorization: Bearer ..." native header on CONNECT). The session
+ * principal name is the token subject, which is what user destinations are
+ * resolved against. Sessions may only subscribe to their own /user/queue/**.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+
+    public StompAuthChannelInterceptor(JwtDecoder jwtDecoder) {
+        this.jwtDecoder = jwtDecoder;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> {
+                String header = accessor.getFirstNativeHeader("Authorization");
+                if (header == null || !header.startsWith(BEARER_PREFIX)) {
+                    throw new MessagingException("Missing bearer token");
+                }
+                try {
+                    Jwt jwt = jwtDecoder.decode(header.substring(BEARER_PREFIX.length()));
+                    accessor.setUser(new JwtAuthenticationToken(jwt));
+                } catch (JwtException e) {
+                    throw new MessagingException("Invalid token: " + e.getMessage());
+                }
+            }
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (accessor.getUser() == null || destination == null || !destination.startsWith("/user/queue/")) {
+                    throw new MessagingException("Cannot subscribe to " + destination);
+                }
+            }
+            case SEND -> throw new MessagingException("Messages are sent through the REST API");
+            default -> {
+            }
+        }
+        return message;
+    }
+}
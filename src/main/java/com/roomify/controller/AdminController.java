@@ -1,12 +1,17 @@
 package com.roomify.controller;
 
 import com.roomify.dto.AdminDashboardDTO;
+import com.roomify.dto.PropertyStatsPoint;
 import com.roomify.model.User;
 import com.roomify.service.AdminService;
+import com.roomify.service.PropertyAnalyticsService;
+import com.roomify.service.PropertyViewRecorder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -16,12 +21,28 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final PropertyAnalyticsService propertyAnalyticsService;
 
     @GetMapping("/dashboard")
     public ResponseEntity<AdminDashboardDTO> getDashboardStats() {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    // View logging queue depth and drop counters
+    @GetMapping("/metrics/property-views")
+    public ResponseEntity<PropertyViewRecorder.Stats> getPropertyViewStats() {
+        return ResponseEntity.ok(adminService.getPropertyViewStats());
+    }
+
+    // Hourly views / unique viewers / likes of any property
+    @GetMapping("/properties/{id}/analytics")
+    public ResponseEntity<List<PropertyStatsPoint>> getPropertyAnalytics(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(propertyAnalyticsService.getHourlyStats(id, from, to));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(adminService.getAllUsers());
@@ -122,11 +122,24 @@ public class ChatController {
     }
 
     // 2. Get Message History for a specific Chat Room
+    // Without parameters: the whole history. With before/after (message ids)
+    // or limit: one keyset page, e.g. ?limit=50 for the latest messages,
+    // ?before=<oldest id> to scroll back, ?after=<last id> to catch up.
     @GetMapping("/{matchId}/messages")
-    public ResponseEntity<List<Map<String, Object>>> getMessages(
+    public ResponseEntity<?> getMessages(
             @PathVariable Long matchId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
             @AuthenticationPrincipal Jwt jwt) {
-        return ResponseEntity.ok(chatService.getChatMessages(matchId, jwt.getSubject()));
+        if (before == null && after == null && limit == null) {
+            return ResponseEntity.ok(chatService.getChatMessages(matchId, jwt.getSubject()));
+        }
+        try {
+            return ResponseEntity.ok(chatService.getChatMessages(matchId, jwt.getSubject(), before, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{matchId}/info")
@@ -157,10 +170,10 @@ public class ChatController {
     }
 
     @PutMapping("/{matchId}/read")
-    public ResponseEntity<Void> markAsRead(
+    public ResponseEntity<Map<String, Object>> markAsRead(
             @PathVariable Long matchId,
             @AuthenticationPrincipal Jwt jwt) {
-        chatService.markMessagesAsRead(matchId, jwt.getSubject());
-        return ResponseEntity.ok().build();
+        int marked = chatService.markMessagesAsRead(matchId, jwt.getSubject());
+        return ResponseEntity.ok(Map.of("markedRead", marked));
     }
 }
\ No newline at end of file
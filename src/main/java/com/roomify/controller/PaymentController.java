@@ -9,6 +9,7 @@ import com.roomify.model.enums.MatchStatus;
 import com.roomify.repository.LeaseAgreementRepository;
 import com.roomify.repository.MatchRepository;
 import com.roomify.service.ChatService;
+import com.roomify.service.PropertyService;
 import com.roomify.service.StripeService;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
@@ -32,6 +33,7 @@ public class PaymentController {
     private final LeaseAgreementRepository leaseAgreementRepository;
     private final MatchRepository matchRepository;
     private final ChatService chatService;
+    private final PropertyService propertyService;
 
     @PostMapping("/initiate")
     public ResponseEntity<?> initiatePayment(@RequestBody PaymentInitiateRequest request,
@@ -123,6 +125,7 @@ public class PaymentController {
                 Match match = lease.getMatch();
                 match.setStatus(MatchStatus.RENTED);
                 matchRepository.save(match);
+                propertyService.markPropertyRented(match.getProperty().getId());
 
                 // Send System Message
                 String message = String.format("🎉 Payment of %s %s successful! Lease is now ACTIVE.",
@@ -199,6 +202,7 @@ public class PaymentController {
                 Match match = lease.getMatch();
                 match.setStatus(MatchStatus.RENTED);
                 matchRepository.save(match);
+                propertyService.markPropertyRented(match.getProperty().getId());
 
                 // Send System Message
                 String message = String.format("🎉 Payment of %s %s successful! Lease is now ACTIVE.",
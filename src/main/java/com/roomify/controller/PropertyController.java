@@ -2,15 +2,17 @@ package com.roomify.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.roomify.dto.PropertyFeedResponse;
 import com.roomify.dto.PropertyRequest;
+import com.roomify.dto.PropertyStatsPoint;
 import com.roomify.model.Property;
+import com.roomify.service.PropertyAnalyticsService;
 import com.roomify.service.PropertyService;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,10 +23,10 @@ import org.springframework.web.multipart.MultipartFile;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,10 +34,12 @@ import java.util.stream.Collectors;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyAnalyticsService propertyAnalyticsService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public PropertyController(PropertyService propertyService) {
+    public PropertyController(PropertyService propertyService, PropertyAnalyticsService propertyAnalyticsService) {
         this.propertyService = propertyService;
+        this.propertyAnalyticsService = propertyAnalyticsService;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -92,13 +96,12 @@ public class PropertyController {
         String userId = jwt.getSubject();
         Pageable pageable = PageRequest.of(page, size);
         Page<Property> properties = propertyService.getPropertiesByUser(userId, pageable);
-        Set<Long> rentedIds = propertyService.getRentedPropertyIds();
 
         List<Map<String, Object>> result = properties.getContent().stream()
                 .map(property -> {
                     Map<String, Object> propertyMap = new HashMap<>();
                     propertyMap.put("property", property);
-                    propertyMap.put("isRented", rentedIds.contains(property.getId()));
+                    propertyMap.put("isRented", propertyService.isPropertyRented(property.getId()));
                     return propertyMap;
                 })
                 .collect(Collectors.toList());
@@ -142,9 +145,37 @@ public class PropertyController {
         return ResponseEntity.ok(propertyService.getPropertyById(id, viewerId));
     }
 
+    // Hourly views / unique viewers / likes of the landlord's own property
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<?> getPropertyAnalytics(
+            @PathVariable Long id,
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<PropertyStatsPoint> stats =
+                    propertyAnalyticsService.getHourlyStatsForOwner(id, jwt.getSubject(), from, to);
+            return ResponseEntity.ok(stats);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // --- UPDATED FEED ENDPOINT ---
+    // Without "size" the whole ranked feed is returned (legacy clients).
+    // With "size" a PropertyFeedPage is returned; pass its nextCursor as "cursor".
     @GetMapping("/feed")
-    public ResponseEntity<List<PropertyFeedResponse>> getFeed(@AuthenticationPrincipal Jwt jwt) {
-        return ResponseEntity.ok(propertyService.getFeedForUser(jwt.getSubject()));
+    public ResponseEntity<?> getFeed(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        if (size == null) {
+            return ResponseEntity.ok(propertyService.getFeedForUser(jwt.getSubject()));
+        }
+        try {
+            return ResponseEntity.ok(propertyService.getFeedPage(jwt.getSubject(), size, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -189,9 +189,13 @@ public class UserController {
     @GetMapping("/feed")
     public ResponseEntity<List<User>> getTenantFeed (
             @RequestParam(required = false) Long propertyId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal Jwt jwt) {
         String landlordId = jwt.getSubject();
-        List<User> feed = userService.getTenantFeed(landlordId, propertyId);
+        List<User> feed = size != null
+                ? userService.getTenantFeed(landlordId, propertyId, page != null ? page : 0, size)
+                : userService.getTenantFeed(landlordId, propertyId);
         return ResponseEntity.ok(feed);
     }
 
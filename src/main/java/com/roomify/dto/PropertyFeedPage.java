@@ -0,0 +1,21 @@
+package com.roomify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the tenant feed. Pass nextCursor back to get the following
+ * page of the same ranking; null when the feed is exhausted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyFeedPage {
+    private List<PropertyFeedResponse> items;
+    private String nextCursor;
+}
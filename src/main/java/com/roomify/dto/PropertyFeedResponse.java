@@ -34,6 +34,10 @@ public class PropertyFeedResponse {
     private String ownerFirstName;
     private String ownerPicture;
 
+    // --- SOCIAL PROOF ---
+    private Boolean isTrending;
+    private Integer activeViewersCount;
+
     @Data
     public static class ImageDto {
         private Long id;
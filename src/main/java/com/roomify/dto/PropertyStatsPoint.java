@@ -0,0 +1,18 @@
+package com.roomify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One hour of a property's analytics time series.
+ */
+@Data
+@AllArgsConstructor
+public class PropertyStatsPoint {
+    private LocalDateTime bucketStart;
+    private long views;
+    private long uniqueViewers;
+    private long likes;
+}
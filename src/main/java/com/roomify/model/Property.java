@@ -78,7 +78,10 @@ public class Property {
     @Column(name = "longitude")
     private Double longitude;
 
-    @org.hibernate.annotations.Formula("(SELECT COUNT(*) FROM matches m WHERE m.property_id = id AND m.status = 'TENANT_LIKED')")
+    // Number of TENANT_LIKED matches. Maintained with atomic UPDATEs by
+    // MatchService (see PropertyRepository.adjustInterestedCount), never by entity saves.
+    @Column(name = "interested_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
     private int interestedCount;
 
     // --- TRANSIENT FIELDS (not persisted, populated at runtime) ---
@@ -9,7 +9,8 @@ import java.time.LocalDateTime;
 /**
  * Tracks property page views for "High Demand" and analytics features.
  * Records are deduplicated (same viewer+property within 5 min = 1 view).
- * Old records (7+ days) are purged by a scheduled task.
+ * Stored in daily partitions; partitions older than 7 days are dropped by
+ * PropertyViewPartitionMaintainer.
  */
 @Entity
 @Table(name = "property_views", indexes = {
@@ -1,9 +1,13 @@
 package com.roomify.repository;
 
 import com.roomify.model.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +16,43 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     List<ChatMessage> findByMatchIdOrderByCreatedAtAsc(Long matchId);
 
+    // Keyset pages over (createdAt, id), served by idx_match_date; the plain
+    // createdAt bound is what lets the index narrow the range scan
+
+    @Query("SELECT m FROM ChatMessage m LEFT JOIN FETCH m.sender WHERE m.match.id = :matchId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findLatestPage(@Param("matchId") Long matchId, Pageable page);
+
+    @Query("SELECT m FROM ChatMessage m LEFT JOIN FETCH m.sender WHERE m.match.id = :matchId " +
+            "AND m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.id < :id) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findPageBefore(@Param("matchId") Long matchId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable page);
+
+    @Query("SELECT m FROM ChatMessage m LEFT JOIN FETCH m.sender WHERE m.match.id = :matchId " +
+            "AND m.createdAt >= :createdAt AND (m.createdAt > :createdAt OR m.id > :id) " +
+            "ORDER BY m.createdAt ASC, m.id ASC")
+    List<ChatMessage> findPageAfter(@Param("matchId") Long matchId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable page);
+
     Optional<ChatMessage> findFirstByMatchIdOrderByCreatedAtDesc(Long matchId);
 
     long countByMatchIdAndSenderIdNotAndIsReadFalse(Long matchId, String userId);
 
-    // [NEW] Find unread messages where the sender is NOT the current user
-    List<ChatMessage> findByMatchIdAndSenderIdNotAndIsReadFalse(Long matchId, String currentUserId);
+    /**
+     * Mark the other participant's unread messages as read in one statement;
+     * returns how many were marked. System messages (no sender) are left
+     * alone, as they are by the unread counts.
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query(value = "UPDATE chat_messages SET is_read = TRUE " +
+            "WHERE match_id = :matchId AND sender_id <> :userId AND is_read = FALSE",
+            nativeQuery = true)
+    int markReadForRecipient(@Param("matchId") Long matchId, @Param("userId") String userId);
 
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.transaction.annotation.Transactional
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +40,10 @@ public interface LeaseAgreementRepository extends JpaRepository<LeaseAgreement,
      */
     @Query("SELECT la.match.property.id FROM LeaseAgreement la WHERE la.status = :status")
     List<Long> findPropertyIdsByLeaseStatus(@Param("status") LeaseStatus status);
+
+    /**
+     * (id, status) of the given leases, for enriching rent-proposal cards.
+     */
+    @Query("SELECT la.id, la.status FROM LeaseAgreement la WHERE la.id IN :ids")
+    List<Object[]> findStatusRows(@Param("ids") Collection<Long> ids);
 }
@@ -44,6 +44,15 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
         List<Object[]> countRecentLikesForProperties(@Param("propertyIds") List<Long> propertyIds,
                         @Param("since") LocalDateTime since);
 
+        /**
+         * (propertyId, last change) of the liked/matched matches changed since a cutoff.
+         * Seeds the in-memory trending counters at startup.
+         */
+        @Query("SELECT m.property.id, COALESCE(m.updatedAt, m.createdAt) FROM Match m " +
+                        "WHERE (m.status = 'TENANT_LIKED' OR m.status = 'MATCHED') " +
+                        "AND COALESCE(m.updatedAt, m.createdAt) >= :since")
+        List<Object[]> findRecentLikeRows(@Param("since") LocalDateTime since);
+
         // --- CRITICAL FOR SCORING SERVICE ---
         // Fetches full history (Likes, Declines, Matches) so the Service can
         // calculate the score penalty for dislikes.
@@ -57,10 +66,10 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
         @Query("SELECT m.property.id FROM Match m WHERE m.tenant.id = :tenantId AND (m.status = 'TENANT_LIKED' OR m.status = 'MATCHED' OR m.status = 'TENANT_DECLINED')")
         List<Long> findPropertyIdsInteractedByTenant(@Param("tenantId") String tenantId);
 
-        // Landlord view: Includes users they have already Liked, Matched with, or
-        // Declined
-        @Query("SELECT m.tenant.id FROM Match m WHERE m.landlord.id = :landlordId AND m.property.id = :propertyId AND (m.status = 'LANDLORD_LIKED' OR m.status = 'MATCHED' OR m.status = 'LANDLORD_DECLINED')")
-        List<String> findTenantIdsInteractedByLandlord(@Param("landlordId") String landlordId,
+        // Landlord view: users they have already Liked, Matched with, or Declined,
+        // as (tenantId, status, score) rows for the landlord feed
+        @Query("SELECT m.tenant.id, m.status, COALESCE(m.score, 0.0) FROM Match m WHERE m.landlord.id = :landlordId AND m.property.id = :propertyId AND (m.status = 'LANDLORD_LIKED' OR m.status = 'MATCHED' OR m.status = 'LANDLORD_DECLINED')")
+        List<Object[]> findLandlordHistoryRows(@Param("landlordId") String landlordId,
                         @Param("propertyId") Long propertyId);
 
         // --- FINDERS ---
@@ -87,6 +96,54 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
 
         List<Match> findByTenant_IdAndStatusInOrderByUpdatedAtDesc(String tenantId, List<MatchStatus> statuses);
 
+        // --- CHAT INBOX ---
+
+        /**
+         * One row per conversation with its last message and unread count, in one round trip:
+         * (matchId, status, createdAt, updatedAt, tenantMessaged,
+         *  tenantId, tenantFirstName, landlordId, landlordFirstName,
+         *  propertyTitle, propertyPrice, propertyImageUrl,
+         *  lastMessageContent, lastMessageCreatedAt, unreadCount).
+         * Unread = not read and sent by the other participant (system messages excluded).
+         */
+        String CONVERSATION_SUMMARY_SELECT =
+                "SELECT m.id, m.status, m.created_at, m.updated_at, m.tenant_messaged, " +
+                "t.id, t.first_name, l.id, l.first_name, " +
+                "p.title, p.price, img.url, " +
+                "last_msg.content, last_msg.created_at, unread.cnt " +
+                "FROM matches m " +
+                "JOIN users t ON t.id = m.tenant_id " +
+                "JOIN users l ON l.id = m.landlord_id " +
+                "JOIN properties p ON p.id = m.property_id " +
+                "LEFT JOIN LATERAL (SELECT pi.url FROM property_image pi WHERE pi.property_id = p.id " +
+                "    ORDER BY pi.image_order LIMIT 1) img ON TRUE " +
+                "LEFT JOIN LATERAL (SELECT cm.content, cm.created_at FROM chat_messages cm WHERE cm.match_id = m.id " +
+                "    ORDER BY cm.created_at DESC, cm.id DESC LIMIT 1) last_msg ON TRUE " +
+                "CROSS JOIN LATERAL (SELECT COUNT(*) AS cnt FROM chat_messages cm WHERE cm.match_id = m.id " +
+                "    AND cm.is_read = FALSE AND cm.sender_id <> :userId) unread ";
+
+        @Query(value = CONVERSATION_SUMMARY_SELECT +
+                        "WHERE m.landlord_id = :userId AND m.status IN (:statuses) ORDER BY m.updated_at DESC",
+                        nativeQuery = true)
+        List<Object[]> findLandlordConversationRows(@Param("userId") String landlordId,
+                        @Param("statuses") List<String> statuses);
+
+        @Query(value = CONVERSATION_SUMMARY_SELECT +
+                        "WHERE m.tenant_id = :userId AND m.status IN (:statuses) ORDER BY m.updated_at DESC",
+                        nativeQuery = true)
+        List<Object[]> findTenantConversationRows(@Param("userId") String tenantId,
+                        @Param("statuses") List<String> statuses);
+
+        /**
+         * MATCHED conversations of the user whose 24h first-message window ran out.
+         */
+        @Query("SELECT m FROM Match m WHERE (m.landlord.id = :userId OR m.tenant.id = :userId) " +
+                        "AND m.status = com.roomify.model.enums.MatchStatus.MATCHED " +
+                        "AND (m.tenantMessaged IS NULL OR m.tenantMessaged = false) " +
+                        "AND m.createdAt < :cutoff")
+        List<Match> findExpiredUnmessagedMatches(@Param("userId") String userId,
+                        @Param("cutoff") LocalDateTime cutoff);
+
         // --- DELETE OPERATIONS ---
 
         @Modifying
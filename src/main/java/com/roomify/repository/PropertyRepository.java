@@ -1,13 +1,17 @@
 package com.roomify.repository;
 
 import com.roomify.model.Property;
+import com.roomify.model.enums.LayoutType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,7 +29,116 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
             "    )" +
             ")")
     List<Property> findFeedForTenant(@Param("userId") String userId);
+
+    /**
+     * Tenant feed candidates with the tenant's preferences applied in SQL.
+     * Excludes the tenant's own listings, listings they already liked/matched and
+     * listings with an ACTIVE lease. Null bounds are ignored; the lat/lon box is the
+     * coarse radius filter, the exact distance check is done by the caller. A box
+     * with minLon > maxLon crosses the antimeridian.
+     */
+    @Query("SELECT p FROM Property p " +
+            "WHERE p.owner.id <> :userId " +
+            "AND p.id NOT IN (" +
+            "    SELECT m.property.id FROM Match m " +
+            "    WHERE m.tenant.id = :userId " +
+            "    AND m.status IN (" +
+            "        com.roomify.model.enums.MatchStatus.TENANT_LIKED, " +
+            "        com.roomify.model.enums.MatchStatus.MATCHED" +
+            "    )" +
+            ") " +
+            "AND p.id NOT IN (" +
+            "    SELECT la.match.property.id FROM LeaseAgreement la " +
+            "    WHERE la.status = com.roomify.model.enums.LeaseStatus.ACTIVE" +
+            ") " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "AND (:minSurface IS NULL OR p.surface >= :minSurface) " +
+            "AND (:maxSurface IS NULL OR p.surface <= :maxSurface) " +
+            "AND (:minRooms IS NULL OR p.numberOfRooms >= :minRooms) " +
+            "AND (:maxRooms IS NULL OR p.numberOfRooms <= :maxRooms) " +
+            "AND (p.layoutType IS NULL OR p.layoutType IN :layoutTypes) " +
+            "AND (:petFriendlyOnly = false OR p.petFriendly = true) " +
+            "AND (:smokerFriendlyOnly = false OR p.smokerFriendly = true) " +
+            "AND (:minLat IS NULL OR (p.latitude BETWEEN :minLat AND :maxLat " +
+            "    AND (p.longitude BETWEEN :minLon AND :maxLon " +
+            "        OR (:minLon > :maxLon AND (p.longitude >= :minLon OR p.longitude <= :maxLon)))))")
+    List<Property> findFeedCandidates(@Param("userId") String userId,
+                                      @Param("minPrice") BigDecimal minPrice,
+                                      @Param("maxPrice") BigDecimal maxPrice,
+                                      @Param("minSurface") Double minSurface,
+                                      @Param("maxSurface") Double maxSurface,
+                                      @Param("minRooms") Integer minRooms,
+                                      @Param("maxRooms") Integer maxRooms,
+                                      @Param("layoutTypes") Collection<LayoutType> layoutTypes,
+                                      @Param("petFriendlyOnly") boolean petFriendlyOnly,
+                                      @Param("smokerFriendlyOnly") boolean smokerFriendlyOnly,
+                                      @Param("minLat") Double minLat,
+                                      @Param("maxLat") Double maxLat,
+                                      @Param("minLon") Double minLon,
+                                      @Param("maxLon") Double maxLon);
+
+    /**
+     * Scalar rows for PropertyIndex, in the column order its loader expects.
+     */
+    @Query("SELECT p.id, p.owner.id, p.price, p.surface, p.numberOfRooms, p.layoutType, " +
+            "p.petFriendly, p.smokerFriendly, p.hasExtraBathroom, p.latitude, p.longitude FROM Property p")
+    List<Object[]> findIndexRows();
+
+    @Query("SELECT p.id, t FROM Property p JOIN p.preferredTenants t")
+    List<Object[]> findPreferredTenantRows();
+
+    /**
+     * Feed card columns plus owner name/picture for a batch of properties.
+     * Scalar projection: no managed entities, no interestedCount subquery.
+     */
+    @Query("SELECT p.id, p.title, p.price, p.surface, p.address, p.description, p.numberOfRooms, " +
+            "p.hasExtraBathroom, p.layoutType, p.smokerFriendly, p.petFriendly, p.latitude, p.longitude, " +
+            "o.id, o.firstName, o.picture " +
+            "FROM Property p JOIN p.owner o WHERE p.id IN :ids")
+    List<Object[]> findFeedRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.property.id, i.id, i.url, i.orderIndex FROM PropertyImage i " +
+            "WHERE i.property.id IN :ids ORDER BY i.orderIndex")
+    List<Object[]> findFeedImageRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, t FROM Property p JOIN p.preferredTenants t WHERE p.id IN :ids")
+    List<Object[]> findPreferredTenantRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Property p ORDER BY p.id")
+    List<Long> findPropertyIds(Pageable pageable);
+
     Page<Property> findByOwner_Id(String id, Pageable pageable);
 
     List<Property> findAllByOwner_Id(String ownerId);
+
+    /**
+     * Atomically add delta to a property's interested counter.
+     */
+    @Modifying
+    @Query(value = "UPDATE properties SET interested_count = interested_count + :delta WHERE id = :id",
+            nativeQuery = true)
+    int adjustInterestedCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Drop one interest from every property the tenant currently likes
+     * (before the tenant's matches are deleted).
+     */
+    @Modifying
+    @Query(value = "UPDATE properties SET interested_count = interested_count - 1 WHERE id IN " +
+            "(SELECT m.property_id FROM matches m WHERE m.tenant_id = :tenantId AND m.status = 'TENANT_LIKED')",
+            nativeQuery = true)
+    int decrementInterestedCountsForTenant(@Param("tenantId") String tenantId);
+
+    /**
+     * Reset every drifted counter to the real TENANT_LIKED count; returns the
+     * number of properties corrected.
+     */
+    @Modifying
+    @Query(value = "UPDATE properties p SET interested_count = " +
+            "(SELECT COUNT(*) FROM matches m WHERE m.property_id = p.id AND m.status = 'TENANT_LIKED') " +
+            "WHERE p.interested_count <> " +
+            "(SELECT COUNT(*) FROM matches m WHERE m.property_id = p.id AND m.status = 'TENANT_LIKED')",
+            nativeQuery = true)
+    int reconcileInterestedCounts();
 }
\ No newline at end of file
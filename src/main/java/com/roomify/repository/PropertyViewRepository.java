@@ -30,6 +30,15 @@ public interface PropertyViewRepository extends JpaRepository<PropertyView, Long
         java.util.List<Object[]> countActiveViewersForProperties(@Param("propertyIds") java.util.List<Long> propertyIds,
                         @Param("since") LocalDateTime since);
 
+        /**
+         * Last view per (property, viewer) since a cutoff: (propertyId, viewerId, viewedAt).
+         * Seeds the in-memory active-viewer window at startup.
+         */
+        @Query("SELECT pv.property.id, pv.viewerId, MAX(pv.viewedAt) FROM PropertyView pv " +
+                        "WHERE pv.viewedAt >= :since " +
+                        "GROUP BY pv.property.id, pv.viewerId")
+        java.util.List<Object[]> findLastViewsSince(@Param("since") LocalDateTime since);
+
         /**
          * Check if a view already exists for deduplication.
          * Returns true if same viewer viewed same property within the dedup window.
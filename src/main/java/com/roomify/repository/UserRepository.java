@@ -2,6 +2,7 @@ package com.roomify.repository;
 
 import com.roomify.model.User;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -24,6 +25,29 @@ public interface UserRepository extends JpaRepository<User, String> {
     List<User> findByRole_Name(String roleName);
     List<User> findByRole_NameAndIdNotIn(String roleName, List<String> ids);
 
+    @Query("SELECT r.name FROM User u JOIN u.role r WHERE u.id = :id")
+    Optional<String> findRoleNameById(@Param("id") String id);
+
+    /**
+     * Landlord feed candidates: non-banned tenants, minus the dealbreakers of
+     * the property, as (id, tenantType) rows. Keyset-paged on id: pass the
+     * last id of the previous batch ("" for the first one).
+     */
+    @Query("SELECT u.id, u.tenantType FROM User u " +
+            "WHERE UPPER(u.role.name) IN ('USER', 'TENANT') " +
+            "AND (u.isBanned IS NULL OR u.isBanned = false) " +
+            "AND (:excludePetOwners = false OR u.hasPets IS NULL OR u.hasPets = false) " +
+            "AND (:excludeSmokers = false OR u.isSmoker IS NULL OR u.isSmoker = false) " +
+            "AND u.id > :afterId " +
+            "ORDER BY u.id")
+    List<Object[]> findTenantCandidateRows(@Param("excludePetOwners") boolean excludePetOwners,
+                                           @Param("excludeSmokers") boolean excludeSmokers,
+                                           @Param("afterId") String afterId,
+                                           Pageable batch);
+
+    @Query("SELECT u.id, r.name, u.isBanned, u.hasPets, u.isSmoker, u.tenantType FROM User u LEFT JOIN u.role r")
+    List<Object[]> findTenantIndexRows();
+
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE " +
             "u.id <> :currentId AND (" +
             "(LOWER(u.email) = LOWER(:email)) OR " +
@@ -0,0 +1,36 @@
+package com.roomify.scheduled;
+
+import com.roomify.repository.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Nightly safety net for properties.interested_count: recomputes it from the
+ * matches table and fixes any counter that drifted (e.g. a match removed
+ * outside MatchService).
+ */
+@Component
+public class InterestCountReconciliationTask {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestCountReconciliationTask.class);
+
+    private final PropertyRepository propertyRepository;
+
+    public InterestCountReconciliationTask(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // Every day at 03:30
+    @Transactional
+    public void reconcile() {
+        int corrected = propertyRepository.reconcileInterestedCounts();
+        if (corrected > 0) {
+            log.warn("Interested counters: corrected {} drifted properties", corrected);
+        } else {
+            log.info("Interested counters: all consistent");
+        }
+    }
+}
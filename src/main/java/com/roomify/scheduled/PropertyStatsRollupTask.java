@@ -0,0 +1,83 @@
+package com.roomify.scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Incrementally rolls raw property_views and matches up into
+ * property_stats_hourly (see V3 migration): every hour, the completed hours
+ * since the last run are aggregated per property. Upserts overwrite whole
+ * buckets, so re-running an hour is harmless.
+ */
+@Component
+public class PropertyStatsRollupTask {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyStatsRollupTask.class);
+
+    // Raw views older than this are gone (partition retention), no point going further back
+    private static final int RAW_RETENTION_DAYS = 7;
+
+    private static final String UPSERT_VIEWS =
+            "INSERT INTO property_stats_hourly (property_id, bucket_start, views, unique_viewers, likes) " +
+            "SELECT pv.property_id, date_trunc('hour', pv.viewed_at), COUNT(*), COUNT(DISTINCT pv.viewer_id), 0 " +
+            "FROM property_views pv WHERE pv.viewed_at >= ? AND pv.viewed_at < ? " +
+            "GROUP BY pv.property_id, date_trunc('hour', pv.viewed_at) " +
+            "ON CONFLICT (property_id, bucket_start) DO UPDATE " +
+            "SET views = EXCLUDED.views, unique_viewers = EXCLUDED.unique_viewers";
+
+    // A like is counted in the hour its match was created, like the old trending query
+    private static final String UPSERT_LIKES =
+            "INSERT INTO property_stats_hourly (property_id, bucket_start, views, unique_viewers, likes) " +
+            "SELECT m.property_id, date_trunc('hour', m.created_at), 0, 0, COUNT(*) " +
+            "FROM matches m WHERE m.status IN ('TENANT_LIKED', 'MATCHED') " +
+            "AND m.created_at >= ? AND m.created_at < ? " +
+            "GROUP BY m.property_id, date_trunc('hour', m.created_at) " +
+            "ON CONFLICT (property_id, bucket_start) DO UPDATE SET likes = EXCLUDED.likes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Start of the first hour not rolled up yet; read from the table on first run
+    private LocalDateTime rolledUpTo;
+
+    public PropertyStatsRollupTask(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Hourly, a few minutes past the hour so the view write-behind has flushed.
+     */
+    @Scheduled(cron = "0 10 * * * *")
+    @Transactional
+    public synchronized void rollUp() {
+        LocalDateTime to = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = rolledUpTo != null ? rolledUpTo : initialFrom(to);
+        if (!from.isBefore(to)) {
+            return;
+        }
+
+        int viewBuckets = jdbcTemplate.update(UPSERT_VIEWS, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        int likeBuckets = jdbcTemplate.update(UPSERT_LIKES, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        rolledUpTo = to;
+        log.info("Property stats rollup [{} - {}): {} view buckets, {} like buckets",
+                from, to, viewBuckets, likeBuckets);
+    }
+
+    private LocalDateTime initialFrom(LocalDateTime to) {
+        Timestamp last = jdbcTemplate.queryForObject(
+                "SELECT MAX(bucket_start) FROM property_stats_hourly", Timestamp.class);
+        LocalDateTime oldest = to.minusDays(RAW_RETENTION_DAYS);
+        if (last == null) {
+            return oldest;
+        }
+        LocalDateTime next = last.toLocalDateTime().plusHours(1);
+        return next.isAfter(oldest) ? next : oldest;
+    }
+}
@@ -0,0 +1,186 @@
+package com.roomify.scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the daily partitions of property_views (see V2 migration): creates
+ * the partitions for the coming days ahead of time and drops whole partitions
+ * once they are past retention, instead of one large DELETE. The V2 comment
+ * refers to this class as PropertyViewPartitions.
+ */
+@Component
+public class PropertyViewPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyViewPartitionMaintainer.class);
+
+    private static final int RETENTION_DAYS = 7;
+    private static final int PRECREATE_DAYS = 7;
+    private static final String PARTITION_PREFIX = "property_views_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public PropertyViewPartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        maintain();
+    }
+
+    /**
+     * Daily at 3:00 AM: create upcoming partitions, drop expired ones. Each
+     * partition is handled on its own, so one failure does not stop the rest
+     * (in particular, retention keeps running if a partition cannot be created).
+     */
+    @Scheduled(cron = "0 0 3 * * *") // Every day at 03:00
+    public void maintain() {
+        LocalDate today;
+        try {
+            // The database's date, so day boundaries match the V2 migration
+            today = jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class);
+            if (!isPartitioned()) {
+                // Schema not migrated yet: fall back to deleting old rows
+                int deleted = jdbcTemplate.update("DELETE FROM property_views WHERE viewed_at < ?",
+                        Timestamp.valueOf(today.minusDays(RETENTION_DAYS).atStartOfDay()));
+                log.info("PropertyView cleanup: deleted {} records (table is not partitioned)", deleted);
+                return;
+            }
+        } catch (Exception e) {
+            log.error("PropertyView partition maintenance failed: {}", e.getMessage());
+            return;
+        }
+        createUpcoming(today);
+        dropExpired(today);
+    }
+
+    private boolean isPartitioned() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_partitioned_table pt " +
+                    "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'property_views'",
+                    Integer.class);
+            return count != null && count > 0;
+        } catch (Exception e) {
+            return false; // not PostgreSQL
+        }
+    }
+
+    private void createUpcoming(LocalDate today) {
+        int created = 0;
+        for (int i = 0; i <= PRECREATE_DAYS; i++) {
+            LocalDate day = today.plusDays(i);
+            String partition = PARTITION_PREFIX + day.format(SUFFIX);
+            try {
+                if (createPartition(partition, day)) {
+                    created++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to create partition {}: {}", partition, e.getMessage());
+            }
+        }
+        if (created > 0) {
+            log.info("PropertyView partitions: created {}", created);
+        }
+    }
+
+    /**
+     * Create the partition of one day; false if it already exists. Rows of
+     * that day already sitting in the default partition (e.g. after a long
+     * downtime) would make Postgres refuse the new partition, so they are
+     * moved into it first: the partition is built as a plain table, filled
+     * from the default and then attached, in one transaction.
+     */
+    private boolean createPartition(String partition, LocalDate day) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return false;
+        }
+
+        String bounds = "FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+        Integer stragglers = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM property_views_default WHERE viewed_at >= ? AND viewed_at < ?",
+                Integer.class, Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        if (stragglers == null || stragglers == 0) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF property_views FOR VALUES " + bounds);
+            return true;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + partition +
+                    " (LIKE property_views INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM property_views_default " +
+                            "WHERE viewed_at >= ? AND viewed_at < ? RETURNING *) " +
+                            "INSERT INTO " + partition + " SELECT * FROM moved",
+                    Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            jdbcTemplate.execute("ALTER TABLE property_views ATTACH PARTITION " + partition + " FOR VALUES " + bounds);
+        });
+        log.warn("Partition {} created with {} rows moved from the default partition", partition, stragglers);
+        return true;
+    }
+
+    private void dropExpired(LocalDate today) {
+        LocalDate cutoff = today.minusDays(RETENTION_DAYS);
+        List<String> partitions;
+        try {
+            partitions = jdbcTemplate.queryForList(
+                    "SELECT c.relname FROM pg_inherits i " +
+                    "JOIN pg_class c ON c.oid = i.inhrelid " +
+                    "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = 'property_views'",
+                    String.class);
+        } catch (Exception e) {
+            log.error("Failed to list property_views partitions: {}", e.getMessage());
+            return;
+        }
+
+        int dropped = 0;
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            LocalDate day;
+            try {
+                day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+            } catch (DateTimeParseException ignored) {
+                continue; // not a daily partition
+            }
+            if (!day.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                dropped++;
+            } catch (Exception e) {
+                log.error("Failed to drop partition {}: {}", partition, e.getMessage());
+            }
+        }
+
+        // The default partition only catches stragglers; trim it the old way
+        int deleted = 0;
+        try {
+            deleted = jdbcTemplate.update("DELETE FROM property_views_default WHERE viewed_at < ?",
+                    Timestamp.valueOf(cutoff.atStartOfDay()));
+        } catch (Exception e) {
+            log.error("Failed to trim property_views_default: {}", e.getMessage());
+        }
+        log.info("PropertyView retention: dropped {} partitions and {} default-partition rows older than {}",
+                dropped, deleted, cutoff);
+    }
+}
@@ -0,0 +1,135 @@
+package com.roomify.service;
+
+import com.roomify.repository.PropertyViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-process "N people viewing now" counter: for each property, the distinct
+ * viewers seen in the last 15 minutes. Each property keeps its viewers in
+ * last-seen order, so expiring the window is just trimming the head and the
+ * count is the size of what is left.
+ *
+ * Lock-striped: properties hash onto STRIPES independent maps, each guarded by
+ * its own lock, so concurrent detail views rarely contend. PropertyView rows
+ * are still written for analytics; this only replaces the COUNT DISTINCT reads.
+ */
+@Component
+public class ActiveViewers {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveViewers.class);
+
+    static final int WINDOW_MINUTES = 15;
+    private static final long WINDOW_MILLIS = WINDOW_MINUTES * 60_000L;
+    private static final int STRIPES = 64;
+
+    private final PropertyViewRepository propertyViewRepository;
+
+    // stripe i holds the properties whose id hashes to i; guarded by that map's monitor
+    private final Map<Long, LinkedHashMap<String, Long>>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public ActiveViewers(PropertyViewRepository propertyViewRepository) {
+        this.propertyViewRepository = propertyViewRepository;
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Seed the window from the views persisted before a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            LocalDateTime since = LocalDateTime.now().minusMinutes(WINDOW_MINUTES);
+            List<Object[]> rows = propertyViewRepository.findLastViewsSince(since);
+            // Oldest first, so each property's viewers end up in last-seen order
+            rows.sort(Comparator.comparing(r -> (LocalDateTime) r[2]));
+            for (Object[] row : rows) {
+                record((Long) row[0], (String) row[1], Timestamp.valueOf((LocalDateTime) row[2]).getTime());
+            }
+            log.info("ActiveViewers seeded with {} recent views", rows.size());
+        } catch (Exception e) {
+            log.error("ActiveViewers warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    public void record(long propertyId, String viewerId) {
+        record(propertyId, viewerId, System.currentTimeMillis());
+    }
+
+    void record(long propertyId, String viewerId, long nowMillis) {
+        Map<Long, LinkedHashMap<String, Long>> stripe = stripeOf(propertyId);
+        synchronized (stripe) {
+            LinkedHashMap<String, Long> viewers = stripe.computeIfAbsent(propertyId, k -> new LinkedHashMap<>());
+            // Re-insert so the viewer moves to the tail (most recent)
+            viewers.remove(viewerId);
+            viewers.put(viewerId, nowMillis);
+            expire(viewers, nowMillis);
+        }
+    }
+
+    /**
+     * Distinct viewers of the property in the last 15 minutes.
+     */
+    public int count(long propertyId) {
+        long now = System.currentTimeMillis();
+        Map<Long, LinkedHashMap<String, Long>> stripe = stripeOf(propertyId);
+        synchronized (stripe) {
+            LinkedHashMap<String, Long> viewers = stripe.get(propertyId);
+            if (viewers == null) {
+                return 0;
+            }
+            expire(viewers, now);
+            if (viewers.isEmpty()) {
+                stripe.remove(propertyId);
+                return 0;
+            }
+            return viewers.size();
+        }
+    }
+
+    public void forget(long propertyId) {
+        Map<Long, LinkedHashMap<String, Long>> stripe = stripeOf(propertyId);
+        synchronized (stripe) {
+            stripe.remove(propertyId);
+        }
+    }
+
+    /**
+     * Drop properties nobody has viewed within the window.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (Map<Long, LinkedHashMap<String, Long>> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.values().removeIf(viewers -> {
+                    expire(viewers, now);
+                    return viewers.isEmpty();
+                });
+            }
+        }
+    }
+
+    private Map<Long, LinkedHashMap<String, Long>> stripeOf(long propertyId) {
+        return stripes[(Long.hashCode(propertyId) & 0x7fffffff) % STRIPES];
+    }
+
+    private static void expire(LinkedHashMap<String, Long> viewers, long now) {
+        Iterator<Long> it = viewers.values().iterator();
+        while (it.hasNext() && it.next() < now - WINDOW_MILLIS) {
+            it.remove();
+        }
+    }
+}
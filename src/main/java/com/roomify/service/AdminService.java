@@ -24,6 +24,10 @@ public class AdminService {
     private final PropertyRepository propertyRepository;
     private final ReportRepository reportRepository;
     private final RoleRepository roleRepository;
+    private final FeedCache feedCache;
+    private final TenantFeedCache tenantFeedCache;
+    private final TenantIndex tenantIndex;
+    private final PropertyViewRecorder propertyViewRecorder;
 
     public AdminDashboardDTO getDashboardStats() {
         return AdminDashboardDTO.builder()
@@ -36,6 +40,10 @@ public class AdminService {
                 .build();
     }
 
+    public PropertyViewRecorder.Stats getPropertyViewStats() {
+        return propertyViewRecorder.stats();
+    }
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -50,6 +58,9 @@ public class AdminService {
 
         user.setRole(role);
         userRepository.save(user);
+        feedCache.invalidateAfterCommit(userId);
+        tenantIndex.upsertAfterCommit(user);
+        tenantFeedCache.invalidateAllAfterCommit();
     }
 
     @Transactional
@@ -62,6 +73,8 @@ public class AdminService {
         user.setIsBanned(!currentStatus);
 
         userRepository.save(user);
+        tenantIndex.upsertAfterCommit(user);
+        tenantFeedCache.invalidateAllAfterCommit();
     }
 
     @Transactional
@@ -0,0 +1,64 @@
+package com.roomify.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Pushes chat events to both match participants over STOMP
+ * (/user/queue/chat, see WebSocketConfig), once the change is committed.
+ * Each participant gets the message DTO from their own point of view
+ * ("me"/"other"), exactly as the REST API would return it.
+ */
+@Component
+public class ChatEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatEventPublisher.class);
+
+    static final String CHAT_QUEUE = "/queue/chat";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public ChatEventPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * A message (text, action card or system) was added to a match.
+     */
+    public void messageCreatedAfterCommit(Long matchId,
+                                          String tenantId, Map<String, Object> tenantView,
+                                          String landlordId, Map<String, Object> landlordView) {
+        TransactionHooks.afterCommit(() -> {
+            send(tenantId, Map.of("type", "MESSAGE", "matchId", matchId.toString(), "message", tenantView));
+            send(landlordId, Map.of("type", "MESSAGE", "matchId", matchId.toString(), "message", landlordView));
+        });
+    }
+
+    /**
+     * A participant read the messages sent to them. The reader's other
+     * sessions can clear the unread badge ("me"); the sender can show the
+     * read ticks ("other").
+     */
+    public void messagesReadAfterCommit(Long matchId, String readerId, String tenantId, String landlordId,
+                                        int count) {
+        TransactionHooks.afterCommit(() -> {
+            for (String userId : new String[]{tenantId, landlordId}) {
+                send(userId, Map.of("type", "READ", "matchId", matchId.toString(),
+                        "reader", userId.equals(readerId) ? "me" : "other", "count", count));
+            }
+        });
+    }
+
+    private void send(String userId, Map<String, Object> event) {
+        try {
+            messagingTemplate.convertAndSendToUser(userId, CHAT_QUEUE, event);
+        } catch (Exception e) {
+            // Clients re-sync over REST when they reconnect
+            log.warn("Failed to push chat event to {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.roomify.repository.ChatMessageRepository;
 import com.roomify.repository.LeaseAgreementRepository;
 import com.roomify.repository.MatchRepository;
 import com.roomify.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,21 +32,43 @@ public class ChatService {
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
     private final LeaseAgreementRepository leaseAgreementRepository;
+    private final FeedCache feedCache;
+    private final TenantFeedCache tenantFeedCache;
+    private final ChatEventPublisher chatEventPublisher;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d");
     private static final DateTimeFormatter VIEWING_FORMAT = DateTimeFormatter.ofPattern("EEEE, MMM d 'at' h:mm a");
 
+    private static final int DEFAULT_MESSAGE_PAGE = 50;
+    private static final int MAX_MESSAGE_PAGE = 100;
+
     public ChatService(
             MatchRepository matchRepository,
             ChatMessageRepository chatMessageRepository,
             UserRepository userRepository,
-            LeaseAgreementRepository leaseAgreementRepository) {
+            LeaseAgreementRepository leaseAgreementRepository,
+            FeedCache feedCache,
+            TenantFeedCache tenantFeedCache,
+            ChatEventPublisher chatEventPublisher) {
         this.matchRepository = matchRepository;
         this.chatMessageRepository = chatMessageRepository;
         this.userRepository = userRepository;
         this.leaseAgreementRepository = leaseAgreementRepository;
+        this.feedCache = feedCache;
+        this.tenantFeedCache = tenantFeedCache;
+        this.chatEventPublisher = chatEventPublisher;
+    }
+
+    /**
+     * Both feeds depend on match status: the tenant's hidden set and the
+     * landlord's ranking for the property.
+     */
+    private void onMatchStatusChanged(Match match) {
+        feedCache.invalidateAfterCommit(match.getTenant().getId());
+        tenantFeedCache.onMatchChangedAfterCommit(match.getProperty().getId(), match.getTenant().getId(),
+                match.getStatus(), match.getScore() != null ? match.getScore() : 0.0);
     }
 
     // ============================================================
@@ -77,6 +100,7 @@ public class ChatService {
         match.setStatus(MatchStatus.VIEWING_REQUESTED);
         match.setViewingDate(viewingDate);
         matchRepository.save(match);
+        onMatchStatusChanged(match);
 
         // Create ACTION_CARD message
         Map<String, Object> metadata = Map.of(
@@ -95,8 +119,9 @@ public class ChatService {
 
         ChatMessage saved = chatMessageRepository.save(message);
         updateMatchTimestamp(match);
+        String pushedMetadata = pushMessage(match, saved);
 
-        return toMessageDto(saved, proposerId);
+        return toMessageDto(saved, proposerId, pushedMetadata);
     }
 
     /**
@@ -126,6 +151,7 @@ public class ChatService {
         // Update match status
         match.setStatus(MatchStatus.VIEWING_SCHEDULED);
         matchRepository.save(match);
+        onMatchStatusChanged(match);
 
         // Create SYSTEM message (no sender)
         String formattedDate = match.getViewingDate().format(VIEWING_FORMAT);
@@ -140,8 +166,9 @@ public class ChatService {
 
         ChatMessage saved = chatMessageRepository.save(systemMessage);
         updateMatchTimestamp(match);
+        String pushedMetadata = pushMessage(match, saved);
 
-        return toMessageDto(saved, accepterId);
+        return toMessageDto(saved, accepterId, pushedMetadata);
     }
 
     /**
@@ -188,6 +215,7 @@ public class ChatService {
         // Update match status
         match.setStatus(MatchStatus.OFFER_PENDING);
         matchRepository.save(match);
+        onMatchStatusChanged(match);
 
         // Create ACTION_CARD message
         Map<String, Object> metadata = Map.of(
@@ -208,8 +236,9 @@ public class ChatService {
 
         ChatMessage saved = chatMessageRepository.save(message);
         updateMatchTimestamp(match);
+        String pushedMetadata = pushMessage(match, saved);
 
-        return toMessageDto(saved, landlordId);
+        return toMessageDto(saved, landlordId, pushedMetadata);
     }
 
     // ============================================================
@@ -243,6 +272,8 @@ public class ChatService {
                 // Remove any chat messages first to avoid FK violations
                 chatMessageRepository.deleteByMatchId(m.getId());
                 matchRepository.delete(m);
+                feedCache.invalidateAfterCommit(tenant.getId());
+                tenantFeedCache.onMatchChangedAfterCommit(m.getProperty().getId(), tenant.getId(), null, 0.0);
             } else {
                 valid.add(m);
             }
@@ -250,55 +281,35 @@ public class ChatService {
         return valid;
     }
 
-    public List<Map<String, Object>> getLandlordConversations(String landlordId) {
-        // Include all active rental workflow states, not just MATCHED
-        List<MatchStatus> activeStatuses = List.of(
-                MatchStatus.MATCHED,
-                MatchStatus.VIEWING_REQUESTED,
-                MatchStatus.VIEWING_SCHEDULED,
-                MatchStatus.OFFER_PENDING,
-                MatchStatus.RENTED);
-        List<Match> matches = matchRepository.findByLandlord_IdAndStatusInOrderByUpdatedAtDesc(landlordId,
-                activeStatuses);
+    // Conversations shown in the inbox: every active rental workflow state, not just MATCHED
+    private static final List<String> INBOX_STATUSES = List.of(
+            MatchStatus.MATCHED.name(),
+            MatchStatus.VIEWING_REQUESTED.name(),
+            MatchStatus.VIEWING_SCHEDULED.name(),
+            MatchStatus.OFFER_PENDING.name(),
+            MatchStatus.RENTED.name());
 
+    public List<Map<String, Object>> getLandlordConversations(String landlordId) {
         // Prune expired matches first
-        matches = pruneExpiredMatches(matches);
+        pruneExpiredMatches(matchRepository.findExpiredUnmessagedMatches(landlordId,
+                LocalDateTime.now().minus(MATCH_EXPIRY_WINDOW)));
 
-        return matches.stream().map(match -> {
+        // One query: every conversation with its last message and unread count
+        List<Object[]> rows = matchRepository.findLandlordConversationRows(landlordId, INBOX_STATUSES);
+
+        return rows.stream().map(row -> {
             Map<String, Object> dto = new HashMap<>();
-            dto.put("id", match.getId().toString());
+            dto.put("id", row[0].toString());
 
-            User tenant = match.getTenant();
-            dto.put("tenantId", tenant.getId());
-            dto.put("tenantName", tenant.getFirstName());
+            dto.put("tenantId", row[5]);
+            dto.put("tenantName", row[6]);
             dto.put("tenantAvatar", null);
-            dto.put("propertyTitle", match.getProperty().getTitle());
-            dto.put("status", match.getStatus().name());
-
-            Optional<ChatMessage> lastMsg = chatMessageRepository.findFirstByMatchIdOrderByCreatedAtDesc(match.getId());
-
-            if (lastMsg.isPresent()) {
-                dto.put("lastMessage", lastMsg.get().getContent());
-                dto.put("timestamp", lastMsg.get().getCreatedAt().format(TIME_FORMAT));
-            } else {
-                dto.put("lastMessage", "New Match! Say hello.");
-                dto.put("timestamp", match.getUpdatedAt().format(DATE_FORMAT));
-            }
-
-            long unread = chatMessageRepository.countByMatchIdAndSenderIdNotAndIsReadFalse(match.getId(), landlordId);
-            dto.put("unreadCount", unread);
+            dto.put("propertyTitle", row[9]);
+            dto.put("status", row[1]);
 
-            // Countdown & flags
-            dto.put("tenantMessaged", match.getTenantMessaged());
-            if (!Boolean.TRUE.equals(match.getTenantMessaged()) && match.getCreatedAt() != null) {
-                LocalDateTime expires = match.getCreatedAt().plus(MATCH_EXPIRY_WINDOW);
-                long secondsLeft = java.time.Duration.between(LocalDateTime.now(), expires).getSeconds();
-                dto.put("timeLeftSeconds", secondsLeft > 0 ? secondsLeft : 0);
-                dto.put("expiresAt", expires.toString());
-            } else {
-                dto.put("timeLeftSeconds", 0);
-                dto.put("expiresAt", null);
-            }
+            putLastMessage(dto, row, "New Match! Say hello.");
+            dto.put("unreadCount", ((Number) row[14]).longValue());
+            putCountdown(dto, (Boolean) row[4], toLocalDateTime(row[2]));
 
             return dto;
         }).collect(Collectors.toList());
@@ -310,7 +321,48 @@ public class ChatService {
     public List<Map<String, Object>> getChatMessages(Long matchId, String currentUserId) {
         List<ChatMessage> messages = chatMessageRepository.findByMatchIdOrderByCreatedAtAsc(matchId);
 
-        return messages.stream().map(msg -> toMessageDto(msg, currentUserId)).collect(Collectors.toList());
+        return toMessageDtos(messages, currentUserId);
+    }
+
+    /**
+     * One page of the history, oldest first. {@code beforeId}/{@code afterId}
+     * are message ids used as keyset cursors on (createdAt, id): the page
+     * just older than {@code beforeId}, the messages newer than
+     * {@code afterId}, or the latest page when neither is given.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getChatMessages(Long matchId, String currentUserId,
+                                                     Long beforeId, Long afterId, Integer limit) {
+        if (beforeId != null && afterId != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        int size = limit == null ? DEFAULT_MESSAGE_PAGE
+                : Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE));
+        PageRequest page = PageRequest.of(0, size);
+
+        List<ChatMessage> messages;
+        if (afterId != null) {
+            ChatMessage cursor = getCursorOrThrow(matchId, afterId);
+            messages = chatMessageRepository.findPageAfter(matchId, cursor.getCreatedAt(), cursor.getId(), page);
+        } else {
+            if (beforeId != null) {
+                ChatMessage cursor = getCursorOrThrow(matchId, beforeId);
+                messages = new ArrayList<>(chatMessageRepository.findPageBefore(matchId,
+                        cursor.getCreatedAt(), cursor.getId(), page));
+            } else {
+                messages = new ArrayList<>(chatMessageRepository.findLatestPage(matchId, page));
+            }
+            // Fetched newest first to use the index; return oldest first like the full history
+            Collections.reverse(messages);
+        }
+
+        return toMessageDtos(messages, currentUserId);
+    }
+
+    private ChatMessage getCursorOrThrow(Long matchId, Long messageId) {
+        return chatMessageRepository.findById(messageId)
+                .filter(msg -> msg.getMatch().getId().equals(matchId))
+                .orElseThrow(() -> new IllegalArgumentException("Cursor message not found in this chat"));
     }
 
     /**
@@ -358,6 +410,7 @@ public class ChatService {
         // Update Match timestamp so it moves to top of list
         match.setUpdatedAt(LocalDateTime.now());
         matchRepository.save(match);
+        pushMessage(match, saved);
 
         // Return DTO consistent with getChatMessages
         Map<String, Object> dto = new HashMap<>();
@@ -385,77 +438,57 @@ public class ChatService {
                 .isRead(false)
                 .build();
 
-        chatMessageRepository.save(message);
+        ChatMessage saved = chatMessageRepository.save(message);
         updateMatchTimestamp(match);
+        pushMessage(match, saved);
     }
 
     /**
      * Get list of conversations for the Tenant
      */
     public List<Map<String, Object>> getTenantConversations(String tenantId) {
-        List<MatchStatus> activeStatuses = List.of(
-                MatchStatus.MATCHED,
-                MatchStatus.VIEWING_REQUESTED,
-                MatchStatus.VIEWING_SCHEDULED,
-                MatchStatus.OFFER_PENDING,
-                MatchStatus.RENTED);
-        List<Match> matches = matchRepository.findByTenant_IdAndStatusInOrderByUpdatedAtDesc(tenantId, activeStatuses);
-
         // Prune expired matches first
-        matches = pruneExpiredMatches(matches);
+        pruneExpiredMatches(matchRepository.findExpiredUnmessagedMatches(tenantId,
+                LocalDateTime.now().minus(MATCH_EXPIRY_WINDOW)));
+
+        // One query: every conversation with its last message, unread count and cover image
+        List<Object[]> rows = matchRepository.findTenantConversationRows(tenantId, INBOX_STATUSES);
 
-        return matches.stream().map(match -> {
+        return rows.stream().map(row -> {
             Map<String, Object> dto = new HashMap<>();
-            dto.put("id", match.getId().toString());
+            dto.put("id", row[0].toString());
 
-            User landlord = match.getLandlord();
-            dto.put("landlordId", landlord.getId());
-            dto.put("landlordName", landlord.getFirstName());
+            dto.put("landlordId", row[7]);
+            dto.put("landlordName", row[8]);
             dto.put("landlordAvatar", null);
 
-            dto.put("propertyTitle", match.getProperty().getTitle());
-            dto.put("propertyImage",
-                    match.getProperty().getImages().isEmpty() ? null : match.getProperty().getImages().get(0).getUrl());
-            dto.put("price", match.getProperty().getPrice());
-            dto.put("status", match.getStatus().name());
-
-            Optional<ChatMessage> lastMsg = chatMessageRepository.findFirstByMatchIdOrderByCreatedAtDesc(match.getId());
-            if (lastMsg.isPresent()) {
-                dto.put("lastMessage", lastMsg.get().getContent());
-                dto.put("timestamp", lastMsg.get().getCreatedAt().format(TIME_FORMAT));
-            } else {
-                dto.put("lastMessage", "Match found! Start chatting.");
-                dto.put("timestamp", match.getUpdatedAt().format(DATE_FORMAT));
-            }
+            dto.put("propertyTitle", row[9]);
+            dto.put("propertyImage", row[11]);
+            dto.put("price", row[10]);
+            dto.put("status", row[1]);
 
-            long unread = chatMessageRepository.countByMatchIdAndSenderIdNotAndIsReadFalse(match.getId(), tenantId);
-            dto.put("unreadCount", unread);
-
-            // Countdown & flags
-            dto.put("tenantMessaged", match.getTenantMessaged());
-            if (!Boolean.TRUE.equals(match.getTenantMessaged()) && match.getCreatedAt() != null) {
-                LocalDateTime expires = match.getCreatedAt().plus(MATCH_EXPIRY_WINDOW);
-                long secondsLeft = java.time.Duration.between(LocalDateTime.now(), expires).getSeconds();
-                dto.put("timeLeftSeconds", secondsLeft > 0 ? secondsLeft : 0);
-                dto.put("expiresAt", expires.toString());
-            } else {
-                dto.put("timeLeftSeconds", 0);
-                dto.put("expiresAt", null);
-            }
+            putLastMessage(dto, row, "Match found! Start chatting.");
+            dto.put("unreadCount", ((Number) row[14]).longValue());
+            putCountdown(dto, (Boolean) row[4], toLocalDateTime(row[2]));
 
             return dto;
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Mark the messages the user received in this chat as read, and push a
+     * read receipt to both participants when anything changed.
+     * Returns the number of messages marked.
+     */
     @Transactional
-    public void markMessagesAsRead(Long matchId, String currentUserId) {
-        List<ChatMessage> unreadMessages = chatMessageRepository
-                .findByMatchIdAndSenderIdNotAndIsReadFalse(matchId, currentUserId);
-
-        if (!unreadMessages.isEmpty()) {
-            unreadMessages.forEach(msg -> msg.setRead(true));
-            chatMessageRepository.saveAll(unreadMessages);
+    public int markMessagesAsRead(Long matchId, String currentUserId) {
+        int marked = chatMessageRepository.markReadForRecipient(matchId, currentUserId);
+        if (marked > 0) {
+            Match match = getMatchOrThrow(matchId);
+            chatEventPublisher.messagesReadAfterCommit(matchId, currentUserId,
+                    match.getTenant().getId(), match.getLandlord().getId(), marked);
         }
+        return marked;
     }
 
     // ============================================================
@@ -485,6 +518,60 @@ public class ChatService {
         matchRepository.save(match);
     }
 
+    /**
+     * lastMessage/timestamp of a conversation summary row; the match date
+     * and a placeholder when nothing has been said yet.
+     */
+    private void putLastMessage(Map<String, Object> dto, Object[] row, String placeholder) {
+        LocalDateTime lastAt = toLocalDateTime(row[13]);
+        if (lastAt != null) {
+            dto.put("lastMessage", row[12]);
+            dto.put("timestamp", lastAt.format(TIME_FORMAT));
+        } else {
+            LocalDateTime updatedAt = toLocalDateTime(row[3]);
+            dto.put("lastMessage", placeholder);
+            dto.put("timestamp", updatedAt != null ? updatedAt.format(DATE_FORMAT) : null);
+        }
+    }
+
+    /**
+     * tenantMessaged flag and the 24h first-message countdown.
+     */
+    private void putCountdown(Map<String, Object> dto, Boolean tenantMessaged, LocalDateTime createdAt) {
+        dto.put("tenantMessaged", tenantMessaged);
+        if (!Boolean.TRUE.equals(tenantMessaged) && createdAt != null) {
+            LocalDateTime expires = createdAt.plus(MATCH_EXPIRY_WINDOW);
+            long secondsLeft = java.time.Duration.between(LocalDateTime.now(), expires).getSeconds();
+            dto.put("timeLeftSeconds", secondsLeft > 0 ? secondsLeft : 0);
+            dto.put("expiresAt", expires.toString());
+        } else {
+            dto.put("timeLeftSeconds", 0);
+            dto.put("expiresAt", null);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * Push a new message to both participants once the transaction commits.
+     * Returns the enriched metadata both views were built with, so the
+     * sender's response reuses it instead of loading the lease status again.
+     */
+    private String pushMessage(Match match, ChatMessage saved) {
+        String tenantId = match.getTenant().getId();
+        String landlordId = match.getLandlord().getId();
+        String metadata = enrichMetadata(List.of(saved)).get(0);
+        chatEventPublisher.messageCreatedAfterCommit(match.getId(),
+                tenantId, toMessageDto(saved, tenantId, metadata),
+                landlordId, toMessageDto(saved, landlordId, metadata));
+        return metadata;
+    }
+
     private String toJson(Map<String, Object> data) {
         try {
             return objectMapper.writeValueAsString(data);
@@ -493,7 +580,75 @@ public class ChatService {
         }
     }
 
-    private Map<String, Object> toMessageDto(ChatMessage msg, String currentUserId) {
+    private List<Map<String, Object>> toMessageDtos(List<ChatMessage> messages, String currentUserId) {
+        List<String> metadata = enrichMetadata(messages);
+        List<Map<String, Object>> dtos = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            dtos.add(toMessageDto(messages.get(i), currentUserId, metadata.get(i)));
+        }
+        return dtos;
+    }
+
+    /**
+     * Metadata JSON of each message, with the current lease status added to
+     * RENT_PROPOSAL cards. The statuses of all referenced leases are loaded
+     * in one query.
+     */
+    private List<String> enrichMetadata(List<ChatMessage> messages) {
+        List<Map<String, Object>> proposals = new ArrayList<>(messages.size());
+        Set<Long> leaseIds = new HashSet<>();
+        for (ChatMessage msg : messages) {
+            Map<String, Object> proposal = parseRentProposal(msg);
+            proposals.add(proposal);
+            if (proposal != null) {
+                leaseIds.add(Long.valueOf(proposal.get("leaseId").toString()));
+            }
+        }
+
+        Map<Long, LeaseStatus> statuses = new HashMap<>();
+        if (!leaseIds.isEmpty()) {
+            for (Object[] row : leaseAgreementRepository.findStatusRows(leaseIds)) {
+                statuses.put((Long) row[0], (LeaseStatus) row[1]);
+            }
+        }
+
+        List<String> result = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            Map<String, Object> proposal = proposals.get(i);
+            if (proposal == null) {
+                result.add(messages.get(i).getMetadata());
+                continue;
+            }
+            LeaseStatus status = statuses.get(Long.valueOf(proposal.get("leaseId").toString()));
+            if (status != null) {
+                proposal.put("leaseStatus", status.name());
+            }
+            result.add(toJson(proposal));
+        }
+        return result;
+    }
+
+    /**
+     * Parsed metadata of a RENT_PROPOSAL card with a lease id, else null.
+     */
+    private Map<String, Object> parseRentProposal(ChatMessage msg) {
+        if (msg.getMetadata() == null || msg.getType() != MessageType.ACTION_CARD) {
+            return null;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> metadata = objectMapper.readValue(msg.getMetadata(), Map.class);
+            if ("RENT_PROPOSAL".equals(metadata.get("action")) && metadata.get("leaseId") != null) {
+                Long.valueOf(metadata.get("leaseId").toString()); // must be a valid id
+                return metadata;
+            }
+        } catch (Exception e) {
+            // Unreadable metadata is passed through as is
+        }
+        return null;
+    }
+
+    private Map<String, Object> toMessageDto(ChatMessage msg, String currentUserId, String metadata) {
         Map<String, Object> dto = new HashMap<>();
         dto.put("id", msg.getId().toString());
         dto.put("text", msg.getContent());
@@ -501,30 +656,7 @@ public class ChatService {
         dto.put("type", msg.getType() != null ? msg.getType().name() : "TEXT");
         dto.put("isRead", msg.isRead());
         dto.put("timestamp", msg.getCreatedAt().format(TIME_FORMAT));
-
-        // Enrich metadata with lease status for RENT_PROPOSAL
-        String metadataStr = msg.getMetadata();
-        if (metadataStr != null && msg.getType() == MessageType.ACTION_CARD) {
-            try {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> metadata = objectMapper.readValue(metadataStr, Map.class);
-                
-                // If it's a RENT_PROPOSAL, add the current lease status
-                if ("RENT_PROPOSAL".equals(metadata.get("action")) && metadata.get("leaseId") != null) {
-                    Long leaseId = Long.valueOf(metadata.get("leaseId").toString());
-                    leaseAgreementRepository.findById(leaseId).ifPresent(lease -> {
-                        metadata.put("leaseStatus", lease.getStatus().name());
-                    });
-                    dto.put("metadata", toJson(metadata));
-                } else {
-                    dto.put("metadata", metadataStr);
-                }
-            } catch (Exception e) {
-                dto.put("metadata", metadataStr);
-            }
-        } else {
-            dto.put("metadata", metadataStr);
-        }
+        dto.put("metadata", metadata);
 
         // Determine sender (null for SYSTEM messages)
         if (msg.getSender() == null) {
@@ -554,17 +686,7 @@ public class ChatService {
         dto.put("id", match.getId().toString());
         dto.put("tenantId", match.getTenant().getId());
         dto.put("landlordId", match.getLandlord().getId());
-        dto.put("tenantMessaged", match.getTenantMessaged());
-
-        if (!Boolean.TRUE.equals(match.getTenantMessaged()) && match.getCreatedAt() != null) {
-            LocalDateTime expires = match.getCreatedAt().plus(MATCH_EXPIRY_WINDOW);
-            long secondsLeft = java.time.Duration.between(LocalDateTime.now(), expires).getSeconds();
-            dto.put("timeLeftSeconds", secondsLeft > 0 ? secondsLeft : 0);
-            dto.put("expiresAt", expires.toString());
-        } else {
-            dto.put("timeLeftSeconds", 0);
-            dto.put("expiresAt", null);
-        }
+        putCountdown(dto, match.getTenantMessaged(), match.getCreatedAt());
 
         return dto;
     }
@@ -0,0 +1,168 @@
+package com.roomify.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of each tenant's ranked property-id list, so repeat feed
+ * opens skip filtering, scoring and sorting. Entries are invalidated after
+ * commit whenever an input of the ranking changes: a tenant's own swipes,
+ * preferences and lifestyle fields drop only that tenant's ranking; a listing
+ * created or edited drops the rankings it can enter or already sits in; a
+ * listing deleted or rented drops the rankings containing it.
+ *
+ * An invalidated ranking is kept as a snapshot until it is replaced, so a
+ * paginated client can keep paging through the order it started with.
+ */
+@Component
+public class FeedCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Snapshot> entries;
+
+    // Rankings being computed, by user, with the stamp each one started with.
+    // Invalidating a user drops that user's entry; a listing change drops all
+    // of them, since the ranking may have read the index before the change.
+    // A ranking whose entry is gone is stored as not current.
+    private final Map<String, Long> pending = new HashMap<>();
+    private long nextStamp = 1;
+    private long nextSnapshotId = 1;
+
+    /**
+     * One computed ranking. {@code current} is false once an input changed.
+     * The tenant's filter is kept to tell which listing changes can reach it.
+     */
+    public static final class Snapshot {
+        private final long id;
+        private final long[] rankedIds;
+        private final PropertyIndex.Filter filter;
+        private boolean current = true;
+
+        private Snapshot(long id, long[] rankedIds, PropertyIndex.Filter filter) {
+            this.id = id;
+            this.rankedIds = rankedIds;
+            this.filter = filter;
+        }
+
+        public long id() {
+            return id;
+        }
+
+        public long[] rankedIds() {
+            return rankedIds;
+        }
+
+        private boolean contains(long propertyId) {
+            for (long id : rankedIds) {
+                if (id == propertyId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public FeedCache(@Value("${roomify.feed.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > FeedCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The user's ranking if it is still current, otherwise null.
+     */
+    public synchronized Snapshot get(String userId) {
+        Snapshot snapshot = entries.get(userId);
+        return snapshot != null && snapshot.current ? snapshot : null;
+    }
+
+    /**
+     * A specific earlier ranking of the user (current or not), for cursor paging.
+     */
+    public synchronized Snapshot get(String userId, long snapshotId) {
+        Snapshot snapshot = entries.get(userId);
+        return snapshot != null && snapshot.id == snapshotId ? snapshot : null;
+    }
+
+    /**
+     * Token to pass to {@link #put} for a ranking of the user about to be computed.
+     */
+    public synchronized long stamp(String userId) {
+        long stamp = nextStamp++;
+        pending.put(userId, stamp);
+        return stamp;
+    }
+
+    /**
+     * Store a freshly computed ranking and the filter it was computed with.
+     * If the user's ranking was invalidated since {@code stamp} the snapshot
+     * is kept for paging but not marked current.
+     */
+    public synchronized Snapshot put(String userId, long[] rankedIds, PropertyIndex.Filter filter, long stamp) {
+        Snapshot snapshot = new Snapshot(nextSnapshotId++, rankedIds, filter);
+        snapshot.current = pending.remove(userId, stamp);
+        entries.put(userId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Drop one tenant's ranking (swipe, preferences or lifestyle change).
+     */
+    public void invalidateAfterCommit(String userId) {
+        TransactionHooks.afterCommit(() -> invalidate(userId));
+    }
+
+    /**
+     * A property was created, or its ranked attributes were edited.
+     */
+    public void invalidateListingAfterCommit(PropertyIndex.Row listing) {
+        TransactionHooks.afterCommit(() -> invalidateListing(listing));
+    }
+
+    /**
+     * A property left the feed (deleted or rented): drop only the rankings containing it.
+     */
+    public void invalidatePropertyAfterCommit(Long propertyId) {
+        TransactionHooks.afterCommit(() -> invalidateProperty(propertyId));
+    }
+
+    public synchronized void invalidate(String userId) {
+        pending.remove(userId);
+        Snapshot snapshot = entries.get(userId);
+        if (snapshot != null) {
+            snapshot.current = false;
+        }
+    }
+
+    /**
+     * Drop the rankings the listing is in, or could now enter because it
+     * passes the tenant's filter. Rankings it neither was in nor passes are
+     * unaffected.
+     */
+    public synchronized void invalidateListing(PropertyIndex.Row listing) {
+        pending.clear();
+        for (Snapshot snapshot : entries.values()) {
+            if (snapshot.current && (snapshot.contains(listing.id)
+                    || snapshot.filter == null || snapshot.filter.accepts(listing))) {
+                snapshot.current = false;
+            }
+        }
+    }
+
+    public synchronized void invalidateProperty(long propertyId) {
+        pending.clear();
+        for (Snapshot snapshot : entries.values()) {
+            if (snapshot.current && snapshot.contains(propertyId)) {
+                snapshot.current = false;
+            }
+        }
+    }
+}
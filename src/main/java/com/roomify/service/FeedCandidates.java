@@ -0,0 +1,61 @@
+package com.roomify.service;
+
+import java.util.Arrays;
+
+/**
+ * Growable pair of primitive arrays holding scored feed candidates
+ * (property id + total score), so the feed never boxes per candidate.
+ */
+public final class FeedCandidates {
+
+    private long[] ids;
+    private double[] scores;
+    private int size;
+
+    public FeedCandidates() {
+        this(64);
+    }
+
+    public FeedCandidates(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    public void add(long id, double score) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        ids[size] = id;
+        scores[size] = score;
+        size++;
+    }
+
+    /**
+     * Append another batch, keeping its order (merging fork-join results).
+     */
+    public void addAll(FeedCandidates other) {
+        int required = size + other.size;
+        if (required > ids.length) {
+            int capacity = Math.max(required, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+        System.arraycopy(other.ids, 0, ids, size, other.size);
+        System.arraycopy(other.scores, 0, scores, size, other.size);
+        size = required;
+    }
+
+    public long id(int i) {
+        return ids[i];
+    }
+
+    public double score(int i) {
+        return scores[i];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,102 @@
+package com.roomify.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ranking stage of the tenant feed: picks the K best-scored candidates with a
+ * bounded min-heap over primitive arrays (O(n log K), no boxing) and then
+ * applies the diversity shuffle to that slice only.
+ */
+public final class FeedRanker {
+
+    private FeedRanker() {
+    }
+
+    /**
+     * Ids of the top {@code k} candidates, best first. Equal scores keep the
+     * candidates' original order, like a stable sort would.
+     */
+    public static long[] topK(FeedCandidates candidates, int k) {
+        int n = candidates.size();
+        int limit = Math.min(k, n);
+        if (limit <= 0) {
+            return new long[0];
+        }
+
+        // heap[0] is the worst of the current top-K
+        int[] heap = new int[limit];
+        int heapSize = 0;
+        for (int i = 0; i < n; i++) {
+            if (heapSize < limit) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, candidates);
+            } else if (better(candidates, i, heap[0])) {
+                heap[0] = i;
+                siftDown(heap, 0, heapSize, candidates);
+            }
+        }
+
+        // Pop worst-first into the tail: leaves the slice sorted best-first
+        long[] ranked = new long[heapSize];
+        for (int end = heapSize - 1; end >= 0; end--) {
+            ranked[end] = candidates.id(heap[0]);
+            heap[0] = heap[end];
+            siftDown(heap, 0, end, candidates);
+        }
+        return ranked;
+    }
+
+    /**
+     * Swap every 5th card of the top half with a random card of the bottom half,
+     * so lower-scored listings still get some exposure.
+     */
+    public static void shuffleForDiversity(long[] rankedIds) {
+        if (rankedIds.length <= 10) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int bottomHalfStart = rankedIds.length / 2;
+        for (int i = 4; i < bottomHalfStart; i += 5) {
+            int swapIndex = bottomHalfStart + random.nextInt(rankedIds.length - bottomHalfStart);
+            long tmp = rankedIds[i];
+            rankedIds[i] = rankedIds[swapIndex];
+            rankedIds[swapIndex] = tmp;
+        }
+    }
+
+    private static boolean better(FeedCandidates c, int a, int b) {
+        int cmp = Double.compare(c.score(a), c.score(b));
+        return cmp > 0 || (cmp == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, FeedCandidates c) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(c, heap[parent], item)) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int pos, int size, FeedCandidates c) {
+        int item = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && better(c, heap[child], heap[right])) {
+                child = right;
+            }
+            if (!better(c, item, heap[child])) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+}
@@ -0,0 +1,133 @@
+package com.roomify.service;
+
+import com.roomify.model.Match;
+import com.roomify.model.Preferences;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scoring stage of the tenant feed: attribute score of a property for the
+ * tenant plus the score of past swipes, with already liked properties and
+ * out-of-radius ones dropped. Pure computation; PropertyService loads the
+ * tenant, preferences and history and ranks the result with FeedRanker.
+ */
+final class FeedScorer {
+
+    static final double VISIBILITY_THRESHOLD = 0.0;
+
+    private final PreferencesService preferencesService;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    /**
+     * @param pool              pool for large index passes, or null to always score sequentially
+     * @param parallelThreshold minimum number of visited slots to go parallel
+     */
+    FeedScorer(PreferencesService preferencesService, ForkJoinPool pool, int parallelThreshold) {
+        this.preferencesService = preferencesService;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * The tenant's preference filter in its compiled form.
+     */
+    PropertyIndex.Filter filterFor(User user, Preferences prefs) {
+        return PropertyIndex.Filter.forTenant(user.getId(), prefs, preferencesService.searchBoundingBox(prefs));
+    }
+
+    /**
+     * Filter and score straight off the in-memory index (no entities loaded).
+     */
+    FeedCandidates scoreIndex(PropertyIndex propertyIndex, User user, Preferences prefs,
+                              PropertyIndex.Filter filter, TenantHistory history) {
+        return propertyIndex.score(filter, (index, slot) -> {
+            long id = index.id(slot);
+            int h = history.find(id);
+            if (h >= 0 && history.hidden[h])
+                return Double.NaN;
+            if (!preferencesService.isWithinSearchRadius(prefs, index.latitude(slot), index.longitude(slot)))
+                return Double.NaN;
+
+            double totalScore = calculateMatchScore(user, index.flags(slot), index.tenantTypes(slot),
+                    index.rooms(slot)) + (h >= 0 ? history.scores[h] : 0.0);
+            return totalScore >= VISIBILITY_THRESHOLD ? totalScore : Double.NaN;
+        }, pool, parallelThreshold);
+    }
+
+    /**
+     * Attribute score of a property for a tenant, from the indexed columns.
+     */
+    static double calculateMatchScore(User tenant, int flags, int tenantTypes, int rooms) {
+        double score = 50.0;
+
+        if (Boolean.TRUE.equals(tenant.getHasPets()) && (flags & PropertyIndex.NOT_PET_FRIENDLY) != 0) {
+            return -100.0;
+        }
+        if (Boolean.TRUE.equals(tenant.getIsSmoker()) && (flags & PropertyIndex.NOT_SMOKER_FRIENDLY) != 0) {
+            return -100.0;
+        }
+
+        if (tenantTypes != 0 && tenant.getTenantType() != null) {
+            boolean isAccepted = (tenantTypes & (1 << tenant.getTenantType().ordinal())) != 0;
+            if (!isAccepted) {
+                score -= 20.0;
+            } else {
+                score += 20.0;
+            }
+        }
+
+        int desiredRooms = tenant.getMinRooms() != null ? tenant.getMinRooms() : 1;
+        if (rooms >= desiredRooms) {
+            score += 15.0;
+            if (rooms == desiredRooms)
+                score += 5.0;
+        } else {
+            score -= 15.0;
+        }
+
+        if (Boolean.TRUE.equals(tenant.getWantsExtraBathroom())) {
+            if ((flags & PropertyIndex.EXTRA_BATHROOM) != 0)
+                score += 10.0;
+            else
+                score -= 5.0;
+        }
+
+        return score;
+    }
+
+    /**
+     * A tenant's swipe history as arrays sorted by property id, so per-candidate
+     * lookups are a binary search instead of boxed map access.
+     */
+    static final class TenantHistory {
+        final long[] propertyIds;
+        final double[] scores;
+        final boolean[] hidden;
+
+        TenantHistory(List<Match> matches) {
+            List<Match> sorted = new ArrayList<>(matches);
+            sorted.sort(Comparator.comparing(m -> m.getProperty().getId()));
+            propertyIds = new long[sorted.size()];
+            scores = new double[sorted.size()];
+            hidden = new boolean[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                Match m = sorted.get(i);
+                propertyIds[i] = m.getProperty().getId();
+                scores[i] = m.getScore() != null ? m.getScore() : 0.0;
+                hidden[i] = m.getStatus() == MatchStatus.MATCHED || m.getStatus() == MatchStatus.TENANT_LIKED;
+            }
+        }
+
+        int find(long propertyId) {
+            int i = Arrays.binarySearch(propertyIds, propertyId);
+            return i >= 0 ? i : -1;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.roomify.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Uniform lat/lon grid over PropertyIndex slots. A radius search only visits
+ * the cells overlapping the search bounding box instead of every property.
+ * Not thread-safe: guarded by the owning PropertyIndex lock.
+ */
+final class GeoGrid {
+
+    /** ~11 km of latitude per cell; a typical city search touches a handful of cells. */
+    static final double CELL_DEGREES = 0.1;
+
+    static final long NO_CELL = Long.MIN_VALUE;
+
+    private static final int LON_CELLS = (int) Math.ceil(360.0 / CELL_DEGREES) + 1;
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    /**
+     * Slots in one cell, as a growable int array with O(1) unordered removal.
+     */
+    static final class Cell {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+
+        void replace(int oldSlot, int newSlot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == oldSlot) {
+                    slots[i] = newSlot;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cell key for a coordinate, or NO_CELL when the property has no location.
+     */
+    static long cellOf(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            return NO_CELL;
+        }
+        return key(row(latitude), column(longitude));
+    }
+
+    void add(long cell, int slot) {
+        if (cell != NO_CELL) {
+            cells.computeIfAbsent(cell, k -> new Cell()).add(slot);
+        }
+    }
+
+    void remove(long cell, int slot) {
+        if (cell == NO_CELL) {
+            return;
+        }
+        Cell c = cells.get(cell);
+        if (c != null) {
+            c.remove(slot);
+            if (c.size == 0) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * A slot moved (dense-array compaction) without changing location.
+     */
+    void move(long cell, int oldSlot, int newSlot) {
+        if (cell != NO_CELL) {
+            Cell c = cells.get(cell);
+            if (c != null) {
+                c.replace(oldSlot, newSlot);
+            }
+        }
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    @FunctionalInterface
+    interface CellVisitor {
+        void visit(Cell cell);
+    }
+
+    /**
+     * Visit every non-empty cell overlapping the box. When the box spans more
+     * cells than are populated, walking the populated ones is cheaper. A box
+     * with {@code minLon > maxLon} crosses the antimeridian and covers
+     * [minLon, 180] and [-180, maxLon].
+     */
+    void forEachCell(double minLat, double maxLat, double minLon, double maxLon, CellVisitor visitor) {
+        int rowFrom = row(minLat);
+        int rowTo = row(maxLat);
+        int colFrom = column(minLon);
+        int colTo = column(maxLon);
+        boolean wraps = minLon > maxLon;
+        if (wraps && colTo >= colFrom) {
+            // Both ranges share a column: together they cover every column
+            colFrom = 0;
+            colTo = LON_CELLS - 1;
+            wraps = false;
+        }
+
+        int columns = wraps ? LON_CELLS - colFrom + colTo + 1 : colTo - colFrom + 1;
+        long spanned = (long) (rowTo - rowFrom + 1) * columns;
+        if (spanned > cells.size()) {
+            for (Map.Entry<Long, Cell> e : cells.entrySet()) {
+                long k = e.getKey();
+                int r = (int) (k / LON_CELLS);
+                int c = (int) (k % LON_CELLS);
+                boolean inColumns = wraps ? c >= colFrom || c <= colTo : c >= colFrom && c <= colTo;
+                if (r >= rowFrom && r <= rowTo && inColumns) {
+                    visitor.visit(e.getValue());
+                }
+            }
+            return;
+        }
+
+        for (int r = rowFrom; r <= rowTo; r++) {
+            if (wraps) {
+                visitColumns(r, colFrom, LON_CELLS - 1, visitor);
+                visitColumns(r, 0, colTo, visitor);
+            } else {
+                visitColumns(r, colFrom, colTo, visitor);
+            }
+        }
+    }
+
+    private void visitColumns(int row, int colFrom, int colTo, CellVisitor visitor) {
+        for (int c = colFrom; c <= colTo; c++) {
+            Cell cell = cells.get(key(row, c));
+            if (cell != null) {
+                visitor.visit(cell);
+            }
+        }
+    }
+
+    /**
+     * Slots of every cell overlapping the box, in {@link #forEachCell} order.
+     */
+    int[] slotsIn(double minLat, double maxLat, double minLon, double maxLon) {
+        Cell all = new Cell();
+        forEachCell(minLat, maxLat, minLon, maxLon, cell -> {
+            for (int i = 0; i < cell.size; i++) {
+                all.add(cell.slots[i]);
+            }
+        });
+        return Arrays.copyOf(all.slots, all.size);
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / CELL_DEGREES);
+    }
+
+    private static long key(int row, int column) {
+        return (long) row * LON_CELLS + column;
+    }
+}
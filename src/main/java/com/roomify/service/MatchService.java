@@ -24,6 +24,9 @@ public class MatchService {
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final ChatMessageRepository chatMessageRepository;
+    private final FeedCache feedCache;
+    private final TenantFeedCache tenantFeedCache;
+    private final TrendingCounters trendingCounters;
 
     // SCORING WEIGHTS
     private static final double LIKE_SCORE = 10.0;
@@ -33,11 +36,14 @@ public class MatchService {
     // It will be pushed to the bottom of the feed rather than hidden immediately.
     private static final double PASS_SCORE = -20.0;
 
-    public MatchService(MatchRepository matchRepository, PropertyRepository propertyRepository, UserRepository userRepository, ChatMessageRepository chatMessageRepository) {
+    public MatchService(MatchRepository matchRepository, PropertyRepository propertyRepository, UserRepository userRepository, ChatMessageRepository chatMessageRepository, FeedCache feedCache, TenantFeedCache tenantFeedCache, TrendingCounters trendingCounters) {
         this.matchRepository = matchRepository;
         this.propertyRepository = propertyRepository;
         this.userRepository = userRepository;
         this.chatMessageRepository = chatMessageRepository;
+        this.feedCache = feedCache;
+        this.tenantFeedCache = tenantFeedCache;
+        this.trendingCounters = trendingCounters;
     }
 
     // --- TENANT ACTIONS ---
@@ -99,6 +105,7 @@ public class MatchService {
                 .status(MatchStatus.TENANT_DECLINED) // Default status placeholder
                 .score(0.0)
                 .build());
+        MatchStatus previousStatus = existing.map(Match::getStatus).orElse(null);
 
         // 1. Update Score (Accumulate history)
         // Disliking decreases score (-20). Liking increases it (+10).
@@ -133,6 +140,19 @@ public class MatchService {
             }
         }
 
+        // The swipe changes this tenant's history score and hidden set
+        feedCache.invalidateAfterCommit(tenantId);
+        // ...and moves or removes the tenant in the landlord's ranking for the property
+        tenantFeedCache.onMatchChangedAfterCommit(propertyId, tenantId, match.getStatus(), match.getScore());
+        // Keep the property's interested counter (TENANT_LIKED matches) in step
+        int interestDelta = (match.getStatus() == MatchStatus.TENANT_LIKED ? 1 : 0)
+                - (previousStatus == MatchStatus.TENANT_LIKED ? 1 : 0);
+        if (interestDelta != 0) {
+            propertyRepository.adjustInterestedCount(propertyId, interestDelta);
+        }
+        // A new like or match feeds the property's trending counter
+        trendingCounters.onStatusChangedAfterCommit(propertyId, previousStatus, match.getStatus());
+
         return matchRepository.save(match);
     }
 
@@ -157,6 +177,8 @@ public class MatchService {
                 // remove messages first
                 chatMessageRepository.deleteByMatchId(m.getId());
                 matchRepository.delete(m);
+                feedCache.invalidateAfterCommit(tenant.getId());
+                tenantFeedCache.onMatchChangedAfterCommit(m.getProperty().getId(), tenant.getId(), null, 0.0);
             } else {
                 valid.add(m);
             }
@@ -6,21 +6,28 @@ import com.roomify.repository.PreferencesRepository;
 import com.roomify.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
 public class PreferencesService {
 
+    private static final double EARTH_RADIUS_KM = 6371;
+
     @Autowired
     private PreferencesRepository preferencesRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private FeedCache feedCache;
+
     /**
      * Save or update preferences for a user
      */
+    @Transactional
     public Preferences savePreferences(String userId, Preferences preferences) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -28,7 +35,8 @@ public class PreferencesService {
         }
 
         User user = userOpt.get();
-        
+        feedCache.invalidateAfterCommit(userId);
+
         // Check if preferences already exist for this user
         Optional<Preferences> existingPrefs = preferencesRepository.findByUser(user);
         
@@ -66,8 +74,10 @@ public class PreferencesService {
     /**
      * Delete preferences for a user
      */
+    @Transactional
     public void deletePreferences(String userId) {
         preferencesRepository.deleteByUserId(userId);
+        feedCache.invalidateAfterCommit(userId);
     }
 
     /**
@@ -117,12 +127,12 @@ public class PreferencesService {
         }
 
         // Check pet friendly
-        if (preferences.getPetFriendly() != null && preferences.getPetFriendly() && !propertySmokerFriendly) {
+        if (preferences.getPetFriendly() != null && preferences.getPetFriendly() && !Boolean.TRUE.equals(propertyPetFriendly)) {
             return false;
         }
 
         // Check smoker friendly
-        if (preferences.getSmokerFriendly() != null && preferences.getSmokerFriendly() && !propertySmokerFriendly) {
+        if (preferences.getSmokerFriendly() != null && preferences.getSmokerFriendly() && !Boolean.TRUE.equals(propertySmokerFriendly)) {
             return false;
         }
 
@@ -143,12 +153,98 @@ public class PreferencesService {
         return true;
     }
 
+    /**
+     * Lat/lon rectangle enclosing a search circle. When it crosses the
+     * antimeridian {@code minLongitude > maxLongitude}: the box is then the two
+     * ranges [minLongitude, 180] and [-180, maxLongitude].
+     */
+    public static class BoundingBox {
+        public double minLatitude;
+        public double maxLatitude;
+        public double minLongitude;
+        public double maxLongitude;
+
+        public boolean crossesAntimeridian() {
+            return minLongitude > maxLongitude;
+        }
+    }
+
+    /**
+     * Bounding box of the user's search radius, or null if no location is set.
+     * Used as a coarse index-friendly filter before the exact Haversine check.
+     */
+    public BoundingBox searchBoundingBox(Preferences preferences) {
+        if (!hasSearchArea(preferences)) {
+            return null;
+        }
+
+        double lat = preferences.getSearchLatitude();
+        double lon = preferences.getSearchLongitude();
+        double radius = preferences.getSearchRadiusKm();
+
+        double latDelta = Math.toDegrees(radius / EARTH_RADIUS_KM);
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lonDelta = cosLat < 1e-6 ? 180.0 : latDelta / cosLat;
+
+        BoundingBox box = new BoundingBox();
+        box.minLatitude = Math.max(-90.0, lat - latDelta);
+        box.maxLatitude = Math.min(90.0, lat + latDelta);
+        if (lonDelta >= 180.0 || box.minLatitude == -90.0 || box.maxLatitude == 90.0) {
+            // Circle around a pole (or wider than the globe): every longitude
+            box.minLongitude = -180.0;
+            box.maxLongitude = 180.0;
+            return box;
+        }
+        box.minLongitude = lon - lonDelta;
+        box.maxLongitude = lon + lonDelta;
+        // Past the antimeridian the range wraps around (minLongitude > maxLongitude)
+        if (box.minLongitude < -180.0)
+            box.minLongitude += 360.0;
+        if (box.maxLongitude > 180.0)
+            box.maxLongitude -= 360.0;
+        return box;
+    }
+
+    /**
+     * Exact radius check; true when the user has no search area set.
+     */
+    public boolean isWithinSearchRadius(Preferences preferences, Double latitude, Double longitude) {
+        if (!hasSearchArea(preferences)) {
+            return true;
+        }
+        if (latitude == null || longitude == null) {
+            return false;
+        }
+        return isWithinSearchRadius(preferences, latitude.doubleValue(), longitude.doubleValue());
+    }
+
+    /**
+     * Primitive variant for index scans; NaN coordinates never match a search area.
+     */
+    public boolean isWithinSearchRadius(Preferences preferences, double latitude, double longitude) {
+        if (!hasSearchArea(preferences)) {
+            return true;
+        }
+        double distance = calculateDistance(
+                preferences.getSearchLatitude(),
+                preferences.getSearchLongitude(),
+                latitude,
+                longitude
+        );
+        return distance <= preferences.getSearchRadiusKm();
+    }
+
+    private boolean hasSearchArea(Preferences preferences) {
+        return preferences != null
+                && preferences.getSearchLatitude() != null
+                && preferences.getSearchLongitude() != null
+                && preferences.getSearchRadiusKm() != null;
+    }
+
     /**
      * Calculate distance between two coordinates using Haversine formula (in km)
      */
     private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int EARTH_RADIUS = 6371; // Radius in km
-
         double dLat = Math.toRadians(lat2 - lat1);
         double dLon = Math.toRadians(lon2 - lon1);
 
@@ -157,6 +253,6 @@ public class PreferencesService {
                         Math.sin(dLon / 2) * Math.sin(dLon / 2);
 
         double c = 2 * Math.asin(Math.sqrt(a));
-        return EARTH_RADIUS * c;
+        return EARTH_RADIUS_KM * c;
     }
 }
@@ -0,0 +1,68 @@
+package com.roomify.service;
+
+import com.roomify.dto.PropertyStatsPoint;
+import com.roomify.model.Property;
+import com.roomify.repository.PropertyRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * View/like time series per property, read from the hourly rollups
+ * (property_stats_hourly) rather than the raw events. Only completed hours
+ * are rolled up.
+ */
+@Service
+public class PropertyAnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 7;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertyRepository propertyRepository;
+
+    public PropertyAnalyticsService(JdbcTemplate jdbcTemplate, PropertyRepository propertyRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.propertyRepository = propertyRepository;
+    }
+
+    /**
+     * Hourly stats of one of the landlord's own properties.
+     */
+    public List<PropertyStatsPoint> getHourlyStatsForOwner(Long propertyId, String ownerId,
+                                                           LocalDateTime from, LocalDateTime to) {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new RuntimeException("Property not found"));
+        if (!property.getOwner().getId().equals(ownerId))
+            throw new RuntimeException("Unauthorized");
+        return getHourlyStats(propertyId, from, to);
+    }
+
+    /**
+     * Hourly stats in [from, to), oldest first; hours without activity are
+     * omitted. Defaults to the last 7 days.
+     */
+    public List<PropertyStatsPoint> getHourlyStats(Long propertyId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (start.plusDays(MAX_RANGE_DAYS).isBefore(end)) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        return jdbcTemplate.query(
+                "SELECT bucket_start, views, unique_viewers, likes FROM property_stats_hourly " +
+                "WHERE property_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                (rs, i) -> new PropertyStatsPoint(
+                        rs.getTimestamp("bucket_start").toLocalDateTime(),
+                        rs.getLong("views"),
+                        rs.getLong("unique_viewers"),
+                        rs.getLong("likes")),
+                propertyId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+}
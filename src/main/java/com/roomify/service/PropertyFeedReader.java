@@ -0,0 +1,103 @@
+package com.roomify.service;
+
+import com.roomify.dto.PropertyFeedResponse;
+import com.roomify.model.enums.LayoutType;
+import com.roomify.model.enums.PreferredTenantType;
+import com.roomify.repository.PropertyRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Read model for feed cards: hydrates a batch of property ids straight into
+ * PropertyFeedResponse with three scalar queries (properties + owner, images,
+ * preferred tenants), whatever the batch size. No Property entities are
+ * materialized, so there are no lazy image/owner selects per card.
+ */
+@Component
+public class PropertyFeedReader {
+
+    private final PropertyRepository propertyRepository;
+
+    public PropertyFeedReader(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    /**
+     * Cards for the given ids, in the same order; ids of deleted properties are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyFeedResponse> load(long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        return assemble(ids,
+                propertyRepository.findFeedRows(idList),
+                propertyRepository.findFeedImageRows(idList),
+                propertyRepository.findPreferredTenantRows(idList));
+    }
+
+    /**
+     * Build the cards from the query rows (row layouts as in PropertyRepository).
+     * Image rows must already be sorted by order index.
+     */
+    List<PropertyFeedResponse> assemble(long[] ids, List<Object[]> rows, List<Object[]> imageRows,
+                                        List<Object[]> tenantRows) {
+        Map<Long, PropertyFeedResponse> byId = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            PropertyFeedResponse card = new PropertyFeedResponse();
+            card.setId((Long) row[0]);
+            card.setTitle((String) row[1]);
+            card.setPrice((BigDecimal) row[2]);
+            card.setSurface((Double) row[3]);
+            card.setAddress((String) row[4]);
+            card.setDescription((String) row[5]);
+            card.setNumberOfRooms((Integer) row[6]);
+            card.setHasExtraBathroom((Boolean) row[7]);
+            card.setLayoutType((LayoutType) row[8]);
+            card.setSmokerFriendly((Boolean) row[9]);
+            card.setPetFriendly((Boolean) row[10]);
+            card.setLatitude((Double) row[11]);
+            card.setLongitude((Double) row[12]);
+            card.setOwnerId((String) row[13]);
+            card.setOwnerFirstName((String) row[14]);
+            card.setOwnerPicture((String) row[15]);
+            card.setImages(new ArrayList<>());
+            card.setPreferredTenants(EnumSet.noneOf(PreferredTenantType.class));
+            byId.put(card.getId(), card);
+        }
+
+        for (Object[] row : imageRows) {
+            PropertyFeedResponse card = byId.get((Long) row[0]);
+            if (card != null) {
+                PropertyFeedResponse.ImageDto dto = new PropertyFeedResponse.ImageDto();
+                dto.setId((Long) row[1]);
+                dto.setUrl((String) row[2]);
+                dto.setOrderIndex((Integer) row[3]);
+                card.getImages().add(dto);
+            }
+        }
+
+        for (Object[] row : tenantRows) {
+            PropertyFeedResponse card = byId.get((Long) row[0]);
+            if (card != null) {
+                card.getPreferredTenants().add((PreferredTenantType) row[1]);
+            }
+        }
+
+        List<PropertyFeedResponse> ordered = new ArrayList<>(byId.size());
+        for (long id : ids) {
+            PropertyFeedResponse card = byId.get(id);
+            if (card != null) {
+                ordered.add(card);
+            }
+        }
+        return ordered;
+    }
+}
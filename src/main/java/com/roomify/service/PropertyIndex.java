@@ -0,0 +1,544 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.Property;
+import com.roomify.model.enums.LayoutType;
+import com.roomify.model.enums.PreferredTenantType;
+import com.roomify.repository.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-optimized, in-memory copy of every listable (not rented) property.
+ * Attributes are stored as primitive parallel arrays indexed by slot so the
+ * feed can filter and score candidates without touching Hibernate entities.
+ * Located slots are also bucketed in a GeoGrid, so radius searches only
+ * visit the cells around the search area.
+ * Kept up to date by PropertyService on create/update/delete and on lease
+ * activation.
+ */
+@Component
+public class PropertyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyIndex.class);
+
+    private static final int INITIAL_CAPACITY = 256;
+    // Slots scored per fork-join leaf task
+    private static final int SCORE_LEAF_SIZE = 2048;
+
+    // --- FLAG BITS ---
+    public static final int PET_FRIENDLY = 1;
+    public static final int NOT_PET_FRIENDLY = 1 << 1;
+    public static final int SMOKER_FRIENDLY = 1 << 2;
+    public static final int NOT_SMOKER_FRIENDLY = 1 << 3;
+    public static final int EXTRA_BATHROOM = 1 << 4;
+
+    private final PropertyRepository propertyRepository;
+    private final RentedProperties rentedProperties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Integer> ownerKeys = new HashMap<>();
+    private final GeoGrid grid = new GeoGrid();
+
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] owners = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private float[] surfaces = new float[INITIAL_CAPACITY];
+    private byte[] rooms = new byte[INITIAL_CAPACITY];
+    private byte[] layouts = new byte[INITIAL_CAPACITY]; // LayoutType ordinal + 1, 0 = unknown
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private int[] tenantTypes = new int[INITIAL_CAPACITY]; // PreferredTenantType bitmask
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private long[] cells = new long[INITIAL_CAPACITY];
+
+    private volatile boolean ready;
+
+    public PropertyIndex(PropertyRepository propertyRepository,
+                         RentedProperties rentedProperties) {
+        this.propertyRepository = propertyRepository;
+        this.rentedProperties = rentedProperties;
+    }
+
+    /**
+     * Immutable copy of the indexed attributes of one property.
+     * Taken inside the writing transaction, applied to the index after commit.
+     */
+    public static final class Row {
+        final long id;
+        final String ownerId;
+        final long priceCents;
+        final float surface;
+        final byte rooms;
+        final byte layout;
+        final byte flags;
+        final int tenantTypes;
+        final double latitude;
+        final double longitude;
+
+        Row(long id, String ownerId, BigDecimal price, Double surface, Integer rooms, LayoutType layoutType,
+            Boolean petFriendly, Boolean smokerFriendly, Boolean extraBathroom,
+            int tenantTypes, Double latitude, Double longitude) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.priceCents = toCents(price);
+            this.surface = surface != null ? surface.floatValue() : 0f;
+            this.rooms = (byte) Math.min(rooms != null ? rooms : 0, Byte.MAX_VALUE);
+            this.layout = (byte) (layoutType != null ? layoutType.ordinal() + 1 : 0);
+            this.flags = (byte) flagsOf(petFriendly, smokerFriendly, extraBathroom);
+            this.tenantTypes = tenantTypes;
+            this.latitude = latitude != null ? latitude : Double.NaN;
+            this.longitude = longitude != null ? longitude : Double.NaN;
+        }
+
+        /**
+         * True if every indexed attribute is equal, i.e. the property filters
+         * and scores the same for every tenant.
+         */
+        boolean sameAttributes(Row other) {
+            return id == other.id
+                    && Objects.equals(ownerId, other.ownerId)
+                    && priceCents == other.priceCents
+                    && Float.compare(surface, other.surface) == 0
+                    && rooms == other.rooms
+                    && layout == other.layout
+                    && flags == other.flags
+                    && tenantTypes == other.tenantTypes
+                    && Double.compare(latitude, other.latitude) == 0
+                    && Double.compare(longitude, other.longitude) == 0;
+        }
+    }
+
+    public static Row rowOf(Property property) {
+        return new Row(property.getId(), property.getOwner().getId(), property.getPrice(), property.getSurface(),
+                property.getNumberOfRooms(), property.getLayoutType(), property.getPetFriendly(),
+                property.getSmokerFriendly(), property.getHasExtraBathroom(),
+                tenantTypeMask(property.getPreferredTenants()), property.getLatitude(), property.getLongitude());
+    }
+
+    public static int flagsOf(Boolean petFriendly, Boolean smokerFriendly, Boolean extraBathroom) {
+        int f = 0;
+        if (petFriendly != null) f |= petFriendly ? PET_FRIENDLY : NOT_PET_FRIENDLY;
+        if (smokerFriendly != null) f |= smokerFriendly ? SMOKER_FRIENDLY : NOT_SMOKER_FRIENDLY;
+        if (Boolean.TRUE.equals(extraBathroom)) f |= EXTRA_BATHROOM;
+        return f;
+    }
+
+    public static int tenantTypeMask(Collection<PreferredTenantType> types) {
+        int mask = 0;
+        if (types != null) {
+            for (PreferredTenantType type : types) {
+                mask |= 1 << type.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public static int layoutMask(Collection<LayoutType> types) {
+        int mask = 0;
+        if (types != null) {
+            for (LayoutType type : types) {
+                mask |= 1 << (type.ordinal() + 1);
+            }
+        }
+        return mask;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).longValue() : 0L;
+    }
+
+    // ============================================================
+    // LOADING
+    // ============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Feed falls back to the SQL path until the next successful rebuild
+            log.error("PropertyIndex warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the whole index from the database with two scalar queries.
+     */
+    public void rebuild() {
+        Map<Long, Integer> tenantMasks = new HashMap<>();
+        for (Object[] row : propertyRepository.findPreferredTenantRows()) {
+            tenantMasks.merge((Long) row[0], 1 << ((PreferredTenantType) row[1]).ordinal(), (a, b) -> a | b);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (Object[] r : propertyRepository.findIndexRows()) {
+            Long id = (Long) r[0];
+            if (rentedProperties.isRented(id)) {
+                continue;
+            }
+            rows.add(new Row(id, (String) r[1], (BigDecimal) r[2], (Double) r[3], (Integer) r[4],
+                    (LayoutType) r[5], (Boolean) r[6], (Boolean) r[7], (Boolean) r[8],
+                    tenantMasks.getOrDefault(id, 0), (Double) r[9], (Double) r[10]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            slotById.clear();
+            ownerKeys.clear();
+            grid.clear();
+            ensureCapacity(rows.size());
+            for (Row row : rows) {
+                put(row);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("PropertyIndex loaded {} listable properties", rows.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ============================================================
+    // INCREMENTAL UPDATES
+    // ============================================================
+
+    /**
+     * Index (or re-index) a property once the current transaction commits.
+     */
+    public void upsertAfterCommit(Property property) {
+        Row row = rowOf(property);
+        TransactionHooks.afterCommit(() -> upsert(row));
+    }
+
+    /**
+     * Drop a property (deleted or rented) once the current transaction commits.
+     */
+    public void removeAfterCommit(Long propertyId) {
+        TransactionHooks.afterCommit(() -> remove(propertyId));
+    }
+
+    public void upsert(Row row) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(row.id);
+            if (slot != null) {
+                write(slot, row);
+            } else {
+                ensureCapacity(size + 1);
+                put(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long propertyId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(propertyId);
+            if (slot == null) {
+                return;
+            }
+            grid.remove(cells[slot], slot);
+            // Keep the arrays dense: move the last row into the freed slot
+            int last = --size;
+            if (slot != last) {
+                copySlot(last, slot);
+                grid.move(cells[slot], last, slot);
+                slotById.put(ids[slot], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // READ ACCESS
+    // ============================================================
+
+    /**
+     * Compiled, primitive form of a tenant's feed filters.
+     */
+    public static final class Filter {
+        long minPriceCents = Long.MIN_VALUE;
+        long maxPriceCents = Long.MAX_VALUE;
+        float minSurface = Float.NEGATIVE_INFINITY;
+        float maxSurface = Float.POSITIVE_INFINITY;
+        int minRooms = Integer.MIN_VALUE;
+        int maxRooms = Integer.MAX_VALUE;
+        int layoutMask = ~0; // unknown layouts (bit 0) always pass
+        int requiredFlags;
+        boolean hasBox;
+        double minLat, maxLat, minLon, maxLon;
+        String excludedOwnerId;
+
+        public static Filter forTenant(String userId, Preferences prefs,
+                                       PreferencesService.BoundingBox box) {
+            Filter f = new Filter();
+            f.excludedOwnerId = userId;
+            if (prefs == null) {
+                return f;
+            }
+            if (prefs.getMinPrice() != null) f.minPriceCents = toCents(prefs.getMinPrice());
+            if (prefs.getMaxPrice() != null) f.maxPriceCents = toCents(prefs.getMaxPrice());
+            if (prefs.getMinSurface() != null) f.minSurface = prefs.getMinSurface().floatValue();
+            if (prefs.getMaxSurface() != null) f.maxSurface = prefs.getMaxSurface().floatValue();
+            if (prefs.getMinRooms() != null) f.minRooms = prefs.getMinRooms();
+            if (prefs.getMaxRooms() != null) f.maxRooms = prefs.getMaxRooms();
+            if (prefs.getLayoutTypes() != null && !prefs.getLayoutTypes().isEmpty()) {
+                f.layoutMask = layoutMask(prefs.getLayoutTypes()) | 1;
+            }
+            if (Boolean.TRUE.equals(prefs.getPetFriendly())) f.requiredFlags |= PET_FRIENDLY;
+            if (Boolean.TRUE.equals(prefs.getSmokerFriendly())) f.requiredFlags |= SMOKER_FRIENDLY;
+            if (box != null) {
+                f.hasBox = true;
+                f.minLat = box.minLatitude;
+                f.maxLat = box.maxLatitude;
+                f.minLon = box.minLongitude;
+                f.maxLon = box.maxLongitude;
+            }
+            return f;
+        }
+
+        /**
+         * True if the listing passes the filter, owner exclusion included.
+         */
+        boolean accepts(Row row) {
+            return (excludedOwnerId == null || !excludedOwnerId.equals(row.ownerId))
+                    && matches(row.priceCents, row.surface, row.rooms, row.layout, row.flags,
+                    row.latitude, row.longitude);
+        }
+
+        boolean matches(long price, float surface, int rooms, int layout, int flags, double lat, double lon) {
+            if (price < minPriceCents || price > maxPriceCents) return false;
+            if (surface < minSurface || surface > maxSurface) return false;
+            if (rooms < minRooms || rooms > maxRooms) return false;
+            if ((layoutMask & (1 << layout)) == 0) return false;
+            if ((flags & requiredFlags) != requiredFlags) return false;
+            if (hasBox) {
+                // NaN (no coordinates) fails every comparison
+                if (!(lat >= minLat && lat <= maxLat)) return false;
+                boolean inLon = minLon <= maxLon
+                        ? lon >= minLon && lon <= maxLon
+                        : lon >= minLon || lon <= maxLon; // box crosses the antimeridian
+                if (!inLon) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scores a slot that passed the filter; NaN drops it. Must be thread-safe,
+     * since above the parallel threshold it runs on pool workers.
+     */
+    @FunctionalInterface
+    public interface SlotScorer {
+        double score(PropertyIndex index, int slot);
+    }
+
+    /**
+     * Filter and score in one pass, in slot order (or grid-cell order with a
+     * search box). When at least {@code parallelThreshold} slots have to be
+     * visited the work is split over {@code pool}; chunk results are
+     * concatenated in order, so the output is identical to the sequential pass.
+     */
+    public FeedCandidates score(Filter filter, SlotScorer scorer, ForkJoinPool pool, int parallelThreshold) {
+        lock.readLock().lock();
+        try {
+            Integer excludedOwner = filter.excludedOwnerId != null ? ownerKeys.get(filter.excludedOwnerId) : null;
+            int ownerKey = excludedOwner != null ? excludedOwner : -1;
+
+            // null = every slot 0..size-1, otherwise the slots of the cells overlapping the box
+            int[] slots = null;
+            int count = size;
+            if (filter.hasBox) {
+                slots = grid.slotsIn(filter.minLat, filter.maxLat, filter.minLon, filter.maxLon);
+                count = slots.length;
+            }
+
+            ScoreTask task = new ScoreTask(filter, scorer, ownerKey, slots, 0, count);
+            if (pool == null || count < parallelThreshold) {
+                return task.scoreRange();
+            }
+            // Workers read the columns while this thread holds the read lock
+            return pool.invoke(task);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private final class ScoreTask extends RecursiveTask<FeedCandidates> {
+        private final Filter filter;
+        private final SlotScorer scorer;
+        private final int ownerKey;
+        private final int[] slots;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Filter filter, SlotScorer scorer, int ownerKey, int[] slots, int from, int to) {
+            this.filter = filter;
+            this.scorer = scorer;
+            this.ownerKey = ownerKey;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FeedCandidates compute() {
+            if (to - from <= SCORE_LEAF_SIZE) {
+                return scoreRange();
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(filter, scorer, ownerKey, slots, from, mid);
+            ScoreTask right = new ScoreTask(filter, scorer, ownerKey, slots, mid, to);
+            left.fork();
+            FeedCandidates rightResult = right.compute();
+            FeedCandidates result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+
+        FeedCandidates scoreRange() {
+            FeedCandidates candidates = new FeedCandidates();
+            for (int i = from; i < to; i++) {
+                int slot = slots != null ? slots[i] : i;
+                if (owners[slot] != ownerKey && matches(filter, slot)) {
+                    double score = scorer.score(PropertyIndex.this, slot);
+                    if (!Double.isNaN(score)) {
+                        candidates.add(ids[slot], score);
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+
+    private boolean matches(Filter f, int slot) {
+        return f.matches(priceCents[slot], surfaces[slot], rooms[slot], layouts[slot], flags[slot],
+                latitudes[slot], longitudes[slot]);
+    }
+
+    public long id(int slot) {
+        return ids[slot];
+    }
+
+    public int rooms(int slot) {
+        return rooms[slot];
+    }
+
+    public int flags(int slot) {
+        return flags[slot];
+    }
+
+    public int tenantTypes(int slot) {
+        return tenantTypes[slot];
+    }
+
+    public double latitude(int slot) {
+        return latitudes[slot];
+    }
+
+    public double longitude(int slot) {
+        return longitudes[slot];
+    }
+
+    /**
+     * True if the property is currently listable (indexed, not rented or deleted).
+     */
+    public boolean contains(long propertyId) {
+        lock.readLock().lock();
+        try {
+            return slotById.containsKey(propertyId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // STORAGE (write lock held)
+    // ============================================================
+
+    private void put(Row row) {
+        int slot = size++;
+        cells[slot] = GeoGrid.NO_CELL;
+        write(slot, row);
+        slotById.put(row.id, slot);
+    }
+
+    private void write(int slot, Row row) {
+        long cell = GeoGrid.cellOf(row.latitude, row.longitude);
+        if (cell != cells[slot]) {
+            grid.remove(cells[slot], slot);
+            grid.add(cell, slot);
+            cells[slot] = cell;
+        }
+        ids[slot] = row.id;
+        owners[slot] = ownerKeys.computeIfAbsent(row.ownerId, k -> ownerKeys.size());
+        priceCents[slot] = row.priceCents;
+        surfaces[slot] = row.surface;
+        rooms[slot] = row.rooms;
+        layouts[slot] = row.layout;
+        flags[slot] = row.flags;
+        tenantTypes[slot] = row.tenantTypes;
+        latitudes[slot] = row.latitude;
+        longitudes[slot] = row.longitude;
+    }
+
+    private void copySlot(int from, int to) {
+        ids[to] = ids[from];
+        owners[to] = owners[from];
+        priceCents[to] = priceCents[from];
+        surfaces[to] = surfaces[from];
+        rooms[to] = rooms[from];
+        layouts[to] = layouts[from];
+        flags[to] = flags[from];
+        tenantTypes[to] = tenantTypes[from];
+        latitudes[to] = latitudes[from];
+        longitudes[to] = longitudes[from];
+        cells[to] = cells[from];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        surfaces = Arrays.copyOf(surfaces, capacity);
+        rooms = Arrays.copyOf(rooms, capacity);
+        layouts = Arrays.copyOf(layouts, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        tenantTypes = Arrays.copyOf(tenantTypes, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+    }
+}
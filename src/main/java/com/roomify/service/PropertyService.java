@@ -1,21 +1,19 @@
 package com.roomify.service;
 
+import com.roomify.dto.PropertyFeedPage;
 import com.roomify.dto.PropertyFeedResponse;
 import com.roomify.dto.PropertyRequest;
 import com.roomify.model.*;
 import com.roomify.model.enums.LayoutType;
-import com.roomify.model.enums.LeaseStatus;
-import com.roomify.model.enums.MatchStatus;
 import com.roomify.model.enums.PreferredTenantType;
 import com.roomify.repository.ChatMessageRepository;
-import com.roomify.repository.LeaseAgreementRepository;
 import com.roomify.repository.MatchRepository;
 import com.roomify.repository.PreferencesRepository;
 import com.roomify.repository.PropertyRepository;
-import com.roomify.repository.PropertyViewRepository;
 import com.roomify.repository.UserRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,11 +22,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,8 +41,15 @@ public class PropertyService {
     private final PreferencesRepository preferencesRepository;
     private final PreferencesService preferencesService;
     private final GeocodingService geocodingService;
-    private final PropertyViewRepository propertyViewRepository;
-    private final LeaseAgreementRepository leaseAgreementRepository;
+    private final PropertyViewRecorder propertyViewRecorder;
+    private final PropertyIndex propertyIndex;
+    private final FeedCache feedCache;
+    private final PropertyFeedReader propertyFeedReader;
+    private final RentedProperties rentedProperties;
+    private final TenantFeedCache tenantFeedCache;
+    private final ActiveViewers activeViewers;
+    private final TrendingCounters trendingCounters;
+    private final FeedScorer feedScorer;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -51,10 +58,13 @@ public class PropertyService {
     private static final int MAX_IMAGES = 7;
 
     // --- SOCIAL PROOF THRESHOLDS ---
-    private static final int ACTIVE_VIEWERS_WINDOW_MINUTES = 15;
-    private static final int TRENDING_WINDOW_HOURS = 48;
-    private static final int TRENDING_LIKES_THRESHOLD = 1; // TODO: Change back to 5 for production
-    private static final int VIEW_DEDUP_WINDOW_MINUTES = 5;
+    // Likes within the TrendingCounters window (48 hours)
+    private static final int TRENDING_LIKES_THRESHOLD = 5;
+
+    // --- FEED RANKING ---
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+    // Only the best FEED_TOP_K candidates are ranked and cached; nobody swipes further
+    private static final int FEED_TOP_K = 500;
 
     public PropertyService(PropertyRepository propertyRepository,
             MatchRepository matchRepository,
@@ -63,8 +73,16 @@ public class PropertyService {
             PreferencesRepository preferencesRepository,
             PreferencesService preferencesService,
             GeocodingService geocodingService,
-            PropertyViewRepository propertyViewRepository,
-            LeaseAgreementRepository leaseAgreementRepository) {
+            PropertyViewRecorder propertyViewRecorder,
+            PropertyIndex propertyIndex,
+            FeedCache feedCache,
+            PropertyFeedReader propertyFeedReader,
+            RentedProperties rentedProperties,
+            TenantFeedCache tenantFeedCache,
+            ActiveViewers activeViewers,
+            TrendingCounters trendingCounters,
+            ForkJoinPool feedScoringPool,
+            @Value("${roomify.feed.parallel-threshold:20000}") int feedParallelThreshold) {
         this.propertyRepository = propertyRepository;
         this.matchRepository = matchRepository;
         this.chatMessageRepository = chatMessageRepository;
@@ -72,8 +90,15 @@ public class PropertyService {
         this.preferencesRepository = preferencesRepository;
         this.preferencesService = preferencesService;
         this.geocodingService = geocodingService;
-        this.propertyViewRepository = propertyViewRepository;
-        this.leaseAgreementRepository = leaseAgreementRepository;
+        this.propertyViewRecorder = propertyViewRecorder;
+        this.propertyIndex = propertyIndex;
+        this.feedCache = feedCache;
+        this.propertyFeedReader = propertyFeedReader;
+        this.rentedProperties = rentedProperties;
+        this.tenantFeedCache = tenantFeedCache;
+        this.activeViewers = activeViewers;
+        this.trendingCounters = trendingCounters;
+        this.feedScorer = new FeedScorer(preferencesService, feedScoringPool, feedParallelThreshold);
         initStorage();
     }
 
@@ -103,6 +128,14 @@ public class PropertyService {
                 }
             }
             propertyRepository.delete(property);
+            propertyIndex.removeAfterCommit(property.getId());
+            rentedProperties.forgetAfterCommit(property.getId());
+            feedCache.invalidatePropertyAfterCommit(property.getId());
+            tenantFeedCache.invalidatePropertyAfterCommit(property.getId());
+            TransactionHooks.afterCommit(() -> {
+                activeViewers.forget(property.getId());
+                trendingCounters.forget(property.getId());
+            });
         }
     }
     // --- FEED LOGIC (UPDATED RETURN TYPE) ---
@@ -111,174 +144,173 @@ public class PropertyService {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
         // If admin/landlord, just return everything mapped to DTO (simplified)
-        if (user.getRole() != null &&
-                (!"USER".equalsIgnoreCase(user.getRole().getName()) &&
-                        !"TENANT".equalsIgnoreCase(user.getRole().getName()))) {
-            return propertyRepository.findAll(PageRequest.of(0, 20)).getContent()
-                    .stream()
-                    .map(this::mapToFeedResponse)
-                    .collect(Collectors.toList());
+        if (!isTenant(user)) {
+            return propertyFeedReader.load(firstPropertyIds(20));
         }
 
-        List<Match> history = matchRepository.findAllByTenant_Id(userId);
-
-        Set<Long> hiddenPropertyIds = history.stream()
-                .filter(m -> m.getStatus() == MatchStatus.MATCHED || m.getStatus() == MatchStatus.TENANT_LIKED)
-                .map(m -> m.getProperty().getId())
-                .collect(Collectors.toSet());
-
-        // Get IDs of properties that are already rented (have ACTIVE lease)
-        Set<Long> rentedPropertyIds = new HashSet<>(
-                leaseAgreementRepository.findPropertyIdsByLeaseStatus(LeaseStatus.ACTIVE));
-
-        Map<Long, Double> historicalScores = history.stream()
-                .collect(Collectors.toMap(m -> m.getProperty().getId(), Match::getScore, (s1, s2) -> s1));
-
-        Optional<Preferences> userPreferences = preferencesRepository.findByUserId(userId);
-
-        List<Property> candidates = propertyRepository.findAll().stream()
-                .filter(p -> !hiddenPropertyIds.contains(p.getId()))
-                .filter(p -> !rentedPropertyIds.contains(p.getId())) // Exclude rented properties
-                .filter(p -> !p.getOwner().getId().equals(userId))
-                .filter(p -> {
-                    if (userPreferences.isPresent()) {
-                        Preferences prefs = userPreferences.get();
-                        return preferencesService.propertyMatchesPreferences(
-                                p.getPrice().doubleValue(),
-                                p.getSurface(),
-                                p.getNumberOfRooms(),
-                                p.getLayoutType() != null ? p.getLayoutType().name() : null,
-                                p.getPetFriendly(),
-                                p.getSmokerFriendly(),
-                                p.getLatitude(),
-                                p.getLongitude(),
-                                prefs);
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
+        List<PropertyFeedResponse> sortedFeed = propertyFeedReader.load(currentRanking(user).rankedIds());
 
-        Map<Long, Double> scores = new HashMap<>();
-        double VISIBILITY_THRESHOLD = 0.0;
+        // --- POPULATE TRENDING ---
+        populateTrendingFlags(sortedFeed);
+        populateActiveViewers(sortedFeed);
+
+        return sortedFeed;
+    }
 
-        for (Property p : candidates) {
-            double attributeScore = calculateMatchScore(user, p);
-            double historyScore = historicalScores.getOrDefault(p.getId(), 0.0);
+    /**
+     * One page of the tenant feed. Without a cursor the current ranking is used
+     * (cached or freshly computed); with a cursor paging continues through the
+     * ranking snapshot it was issued for. Only the cards on the page are
+     * hydrated and get social-proof queries.
+     */
+    public PropertyFeedPage getFeedPage(String userId, int size, String cursor) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
 
-            double totalScore = attributeScore + historyScore;
+        if (!isTenant(user)) {
+            return new PropertyFeedPage(propertyFeedReader.load(firstPropertyIds(pageSize)), null);
+        }
 
-            if (totalScore >= VISIBILITY_THRESHOLD) {
-                scores.put(p.getId(), totalScore);
-            }
+        FeedCache.Snapshot snapshot = null;
+        int offset = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] decoded = decodeFeedCursor(cursor);
+            snapshot = feedCache.get(userId, decoded[0]);
+            offset = (int) decoded[1];
+        }
+        if (snapshot == null) {
+            // First page, or the snapshot was evicted: start over on the current ranking
+            snapshot = currentRanking(user);
+            offset = 0;
         }
 
-        List<Property> sortedFeed = candidates.stream()
-                .filter(p -> scores.containsKey(p.getId()))
-                .sorted((p1, p2) -> Double.compare(scores.get(p2.getId()), scores.get(p1.getId())))
-                .collect(Collectors.toList());
+        long[] rankedIds = snapshot.rankedIds();
+        int end = Math.min(offset + pageSize, rankedIds.length);
+        long[] pageIds = Arrays.copyOfRange(rankedIds, Math.min(offset, end), end);
 
-        if (sortedFeed.size() > 10) {
-            int bottomHalfStart = sortedFeed.size() / 2;
-            for (int i = 4; i < bottomHalfStart; i += 5) {
-                int swapIndex = bottomHalfStart + (int) (Math.random() * (sortedFeed.size() - bottomHalfStart));
-                Collections.swap(sortedFeed, i, swapIndex);
-            }
+        if (propertyIndex.isReady()) {
+            // An older snapshot may still list properties rented since
+            pageIds = Arrays.stream(pageIds).filter(propertyIndex::contains).toArray();
         }
+        List<PropertyFeedResponse> page = propertyFeedReader.load(pageIds);
+        populateTrendingFlags(page);
+        populateActiveViewers(page);
 
-        // --- POPULATE TRENDING (batch query to avoid N+1) ---
-        populateTrendingFlags(sortedFeed);
-        populateActiveViewers(sortedFeed);
+        String nextCursor = end < rankedIds.length ? encodeFeedCursor(snapshot.id(), end) : null;
+        return new PropertyFeedPage(page, nextCursor);
+    }
 
-        // Convert to DTO before returning
-        return sortedFeed.stream().map(this::mapToFeedResponse).collect(Collectors.toList());
+    private boolean isTenant(User user) {
+        return user.getRole() == null
+                || "USER".equalsIgnoreCase(user.getRole().getName())
+                || "TENANT".equalsIgnoreCase(user.getRole().getName());
     }
 
-    // CONVERT TO DTO
-    public List<PropertyFeedResponse> getFeedForUserAsDto(String userId) {
-        return getFeedForUser(userId);
+    private FeedCache.Snapshot currentRanking(User user) {
+        FeedCache.Snapshot snapshot = feedCache.get(user.getId());
+        if (snapshot == null) {
+            long stamp = feedCache.stamp(user.getId());
+            Preferences prefs = preferencesRepository.findByUserId(user.getId()).orElse(null);
+            PropertyIndex.Filter filter = feedScorer.filterFor(user, prefs);
+            snapshot = feedCache.put(user.getId(), rankFeed(user, prefs, filter), filter, stamp);
+        }
+        return snapshot;
     }
 
-    // --- MAPPING HELPER ---
-    private PropertyFeedResponse mapToFeedResponse(Property property) {
-        PropertyFeedResponse response = new PropertyFeedResponse();
-
-        response.setId(property.getId());
-        response.setTitle(property.getTitle());
-        response.setPrice(property.getPrice());
-        response.setSurface(property.getSurface());
-        response.setAddress(property.getAddress());
-        response.setDescription(property.getDescription());
-        response.setNumberOfRooms(property.getNumberOfRooms());
-        response.setHasExtraBathroom(property.getHasExtraBathroom());
-        response.setLayoutType(property.getLayoutType());
-        response.setPreferredTenants(property.getPreferredTenants());
-        response.setSmokerFriendly(property.getSmokerFriendly());
-        response.setPetFriendly(property.getPetFriendly());
-        response.setLatitude(property.getLatitude());
-        response.setLongitude(property.getLongitude());
+    private static String encodeFeedCursor(long snapshotId, int offset) {
+        String raw = snapshotId + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (property.getImages() != null) {
-            List<PropertyFeedResponse.ImageDto> imageDtos = property.getImages().stream()
-                    .map(img -> {
-                        PropertyFeedResponse.ImageDto dto = new PropertyFeedResponse.ImageDto();
-                        dto.setId(img.getId());
-                        dto.setUrl(img.getUrl());
-                        dto.setOrderIndex(img.getOrderIndex());
-                        return dto;
-                    })
-                    .sorted(Comparator.comparingInt(PropertyFeedResponse.ImageDto::getOrderIndex))
-                    .collect(Collectors.toList());
-            response.setImages(imageDtos);
+    private static long[] decodeFeedCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            long snapshotId = Long.parseLong(raw.substring(0, sep));
+            int offset = Integer.parseInt(raw.substring(sep + 1));
+            if (offset < 0)
+                throw new IllegalArgumentException();
+            return new long[] { snapshotId, offset };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor.");
         }
+    }
 
-        // Map Owner Details for Frontend Navigation
-        if (property.getOwner() != null) {
-            response.setOwnerId(property.getOwner().getId());
-            response.setOwnerFirstName(property.getOwner().getFirstName());
-            response.setOwnerPicture(property.getOwner().getPicture());
-        }
+    /**
+     * Full ranking of a tenant's feed: history, preferences, scoring, top-K
+     * selection and diversity shuffle. The result is what FeedCache stores.
+     */
+    private long[] rankFeed(User user, Preferences prefs, PropertyIndex.Filter filter) {
+        FeedScorer.TenantHistory history = new FeedScorer.TenantHistory(matchRepository.findAllByTenant_Id(user.getId()));
 
-        return response;
-    }
+        FeedCandidates candidates = propertyIndex.isReady()
+                ? feedScorer.scoreIndex(propertyIndex, user, prefs, filter, history)
+                : scoreFromDatabase(user, prefs, history);
 
-    private double calculateMatchScore(User tenant, Property property) {
-        double score = 50.0;
+        long[] rankedIds = FeedRanker.topK(candidates, FEED_TOP_K);
+        FeedRanker.shuffleForDiversity(rankedIds);
+        return rankedIds;
+    }
 
-        if (Boolean.TRUE.equals(tenant.getHasPets()) && Boolean.FALSE.equals(property.getPetFriendly())) {
-            return -100.0;
-        }
-        if (Boolean.TRUE.equals(tenant.getIsSmoker()) && Boolean.FALSE.equals(property.getSmokerFriendly())) {
-            return -100.0;
-        }
+    /**
+     * Unranked feed for non-tenants: the first properties by id.
+     */
+    private long[] firstPropertyIds(int limit) {
+        return propertyRepository.findPropertyIds(PageRequest.of(0, limit)).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
 
-        if (property.getPreferredTenants() != null && !property.getPreferredTenants().isEmpty()) {
-            if (tenant.getTenantType() != null) {
-                boolean isAccepted = property.getPreferredTenants().contains(tenant.getTenantType());
-                if (!isAccepted) {
-                    score -= 20.0;
-                } else {
-                    score += 20.0;
-                }
-            }
+    /**
+     * Fallback while the index is warming up: SQL-filtered entities.
+     */
+    private FeedCandidates scoreFromDatabase(User user, Preferences prefs, FeedScorer.TenantHistory history) {
+        FeedCandidates candidates = new FeedCandidates();
+
+        for (Property p : findFeedCandidates(user.getId(), prefs)) {
+            if (!preferencesService.isWithinSearchRadius(prefs, p.getLatitude(), p.getLongitude()))
+                continue;
+
+            int h = history.find(p.getId());
+            int flags = PropertyIndex.flagsOf(p.getPetFriendly(), p.getSmokerFriendly(), p.getHasExtraBathroom());
+            double totalScore = FeedScorer.calculateMatchScore(user, flags,
+                    PropertyIndex.tenantTypeMask(p.getPreferredTenants()), p.getNumberOfRooms())
+                    + (h >= 0 ? history.scores[h] : 0.0);
+            if (totalScore >= FeedScorer.VISIBILITY_THRESHOLD)
+                candidates.add(p.getId(), totalScore);
         }
+        return candidates;
+    }
 
-        int desiredRooms = tenant.getMinRooms() != null ? tenant.getMinRooms() : 1;
-        if (property.getNumberOfRooms() >= desiredRooms) {
-            score += 15.0;
-            if (property.getNumberOfRooms() == desiredRooms)
-                score += 5.0;
-        } else {
-            score -= 15.0;
+    private List<Property> findFeedCandidates(String userId, Preferences prefs) {
+        if (prefs == null) {
+            return propertyRepository.findFeedCandidates(userId,
+                    null, null, null, null, null, null,
+                    EnumSet.allOf(LayoutType.class), false, false,
+                    null, null, null, null);
         }
 
-        if (Boolean.TRUE.equals(tenant.getWantsExtraBathroom())) {
-            if (Boolean.TRUE.equals(property.getHasExtraBathroom()))
-                score += 10.0;
-            else
-                score -= 5.0;
-        }
+        Set<LayoutType> layoutTypes = prefs.getLayoutTypes() == null || prefs.getLayoutTypes().isEmpty()
+                ? EnumSet.allOf(LayoutType.class)
+                : prefs.getLayoutTypes();
+        PreferencesService.BoundingBox box = preferencesService.searchBoundingBox(prefs);
+
+        return propertyRepository.findFeedCandidates(userId,
+                prefs.getMinPrice(), prefs.getMaxPrice(),
+                prefs.getMinSurface(), prefs.getMaxSurface(),
+                prefs.getMinRooms(), prefs.getMaxRooms(),
+                layoutTypes,
+                Boolean.TRUE.equals(prefs.getPetFriendly()),
+                Boolean.TRUE.equals(prefs.getSmokerFriendly()),
+                box != null ? box.minLatitude : null,
+                box != null ? box.maxLatitude : null,
+                box != null ? box.minLongitude : null,
+                box != null ? box.maxLongitude : null);
+    }
 
-        return score;
+    // CONVERT TO DTO
+    public List<PropertyFeedResponse> getFeedForUserAsDto(String userId) {
+        return getFeedForUser(userId);
     }
 
     // --- CRUD OPERATIONS (UNCHANGED) ---
@@ -305,7 +337,10 @@ public class PropertyService {
         try {
             property.setImages(new ArrayList<>());
             reorderImages(property, request.getOrderedIdentifiers(), newImages);
-            return propertyRepository.save(property);
+            Property saved = propertyRepository.save(property);
+            propertyIndex.upsertAfterCommit(saved);
+            feedCache.invalidateListingAfterCommit(PropertyIndex.rowOf(saved));
+            return saved;
         } catch (Exception e) {
             for (PropertyImage img : newImages)
                 deleteFileFromDisk(img.getUrl());
@@ -320,7 +355,17 @@ public class PropertyService {
         if (!property.getOwner().getId().equals(userId))
             throw new RuntimeException("Unauthorized");
 
+        // Inputs of the tenants' feed rankings, and of the landlord's tenant ranking for this property
+        PropertyIndex.Row oldListing = PropertyIndex.rowOf(property);
+        Boolean oldPetFriendly = property.getPetFriendly();
+        Boolean oldSmokerFriendly = property.getSmokerFriendly();
+        Set<PreferredTenantType> oldPreferredTenants = new HashSet<>(property.getPreferredTenants());
+
         updateEntityFromRequest(property, request);
+        if (!Objects.equals(oldPetFriendly, property.getPetFriendly())
+                || !Objects.equals(oldSmokerFriendly, property.getSmokerFriendly())
+                || !oldPreferredTenants.equals(new HashSet<>(property.getPreferredTenants())))
+            tenantFeedCache.invalidatePropertyAfterCommit(id);
 
         if (request.getDeletedImageIds() != null && !request.getDeletedImageIds().isEmpty()) {
             List<PropertyImage> imagesToDelete = property.getImages().stream()
@@ -340,7 +385,15 @@ public class PropertyService {
             reorderImages(property, request.getOrderedIdentifiers(), newImagesList);
             if (property.getImages().isEmpty())
                 throw new RuntimeException("Must have one photo.");
-            return propertyRepository.save(property);
+            Property saved = propertyRepository.save(property);
+            if (!isPropertyRented(id)) {
+                propertyIndex.upsertAfterCommit(saved);
+                // Title, description or photo edits leave every ranking as it was
+                PropertyIndex.Row listing = PropertyIndex.rowOf(saved);
+                if (!listing.sameAttributes(oldListing))
+                    feedCache.invalidateListingAfterCommit(listing);
+            }
+            return saved;
         } catch (Exception e) {
             for (PropertyImage img : newImagesList)
                 deleteFileFromDisk(img.getUrl());
@@ -369,6 +422,14 @@ public class PropertyService {
                 deleteFileFromDisk(img.getUrl());
         }
         propertyRepository.delete(property);
+        propertyIndex.removeAfterCommit(property.getId());
+        rentedProperties.forgetAfterCommit(property.getId());
+        feedCache.invalidatePropertyAfterCommit(property.getId());
+        tenantFeedCache.invalidatePropertyAfterCommit(property.getId());
+        TransactionHooks.afterCommit(() -> {
+            activeViewers.forget(id);
+            trendingCounters.forget(id);
+        });
     }
 
     private void deleteFileFromDisk(String fileUrl) {
@@ -464,18 +525,20 @@ public class PropertyService {
     }
 
     /**
-     * Check if a property has been rented (has an ACTIVE lease).
+     * Check if a property has been rented (has an ACTIVE lease). No query.
      */
     public boolean isPropertyRented(Long propertyId) {
-        List<Long> rentedIds = leaseAgreementRepository.findPropertyIdsByLeaseStatus(LeaseStatus.ACTIVE);
-        return rentedIds.contains(propertyId);
+        return rentedProperties.isRented(propertyId);
     }
 
     /**
-     * Get all rented property IDs (for batch checks).
+     * Called when a lease on the property becomes ACTIVE: it leaves the feed.
      */
-    public Set<Long> getRentedPropertyIds() {
-        return new HashSet<>(leaseAgreementRepository.findPropertyIdsByLeaseStatus(LeaseStatus.ACTIVE));
+    public void markPropertyRented(Long propertyId) {
+        rentedProperties.markRentedAfterCommit(propertyId);
+        propertyIndex.removeAfterCommit(propertyId);
+        feedCache.invalidatePropertyAfterCommit(propertyId);
+        tenantFeedCache.invalidatePropertyAfterCommit(propertyId);
     }
 
     public Page<Property> getAllProperties(Pageable pageable) {
@@ -498,7 +561,7 @@ public class PropertyService {
      * @param viewerId Auth0 subject ID of the viewer (null for anonymous/internal
      *                 calls)
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Property getPropertyById(Long id, String viewerId) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -506,92 +569,30 @@ public class PropertyService {
         // Detach entity to safely set @Transient fields without Hibernate issues
         entityManager.detach(property);
 
-        // 1. Log the view (with deduplication)
+        // 1. Log the view (deduplicated and written in the background)
         if (viewerId != null && !viewerId.isBlank()) {
-            logPropertyView(property, viewerId);
+            activeViewers.record(id, viewerId);
+            propertyViewRecorder.record(id, viewerId);
         }
 
-        // 2. Calculate Active Viewers (last 15 minutes)
-        LocalDateTime viewersCutoff = LocalDateTime.now().minusMinutes(ACTIVE_VIEWERS_WINDOW_MINUTES);
-        int activeViewers = propertyViewRepository.countActiveViewers(id, viewersCutoff);
-        property.setActiveViewersCount(activeViewers);
+        // 2. Active Viewers (last 15 minutes), from the in-memory window
+        property.setActiveViewersCount(activeViewers.count(id));
 
-        // 3. Calculate Trending (likes in last 48 hours)
-        LocalDateTime trendingCutoff = LocalDateTime.now().minusHours(TRENDING_WINDOW_HOURS);
-        int recentLikes = matchRepository.countRecentLikes(id, trendingCutoff);
-        property.setIsTrending(recentLikes >= TRENDING_LIKES_THRESHOLD);
+        // 3. Trending (likes in last 48 hours), from the in-memory counters
+        property.setIsTrending(trendingCounters.recentLikes(id) >= TRENDING_LIKES_THRESHOLD);
 
         return property;
     }
 
-    /**
-     * Log a property view with 5-minute deduplication.
-     */
-    private void logPropertyView(Property property, String viewerId) {
-        LocalDateTime dedupCutoff = LocalDateTime.now().minusMinutes(VIEW_DEDUP_WINDOW_MINUTES);
-
-        // Check if view already exists within dedup window
-        boolean exists = propertyViewRepository.existsRecentView(
-                property.getId(),
-                viewerId,
-                dedupCutoff);
-
-        if (!exists) {
-            PropertyView view = PropertyView.builder()
-                    .property(property)
-                    .viewerId(viewerId)
-                    .build();
-            propertyViewRepository.save(view);
+    private void populateTrendingFlags(List<PropertyFeedResponse> properties) {
+        for (PropertyFeedResponse p : properties) {
+            p.setIsTrending(trendingCounters.recentLikes(p.getId()) >= TRENDING_LIKES_THRESHOLD);
         }
     }
 
-    /**
-     * Batch populate trending flags for a list of properties.
-     * Uses single query to avoid N+1 performance issues.
-     */
-    private void populateTrendingFlags(List<Property> properties) {
-        if (properties.isEmpty())
-            return;
-
-        List<Long> propertyIds = properties.stream()
-                .map(Property::getId)
-                .collect(Collectors.toList());
-
-        LocalDateTime trendingCutoff = LocalDateTime.now().minusHours(TRENDING_WINDOW_HOURS);
-        List<Object[]> likeCounts = matchRepository.countRecentLikesForProperties(propertyIds, trendingCutoff);
-
-        // Build map: propertyId -> likeCount
-        Map<Long, Long> likeCountMap = likeCounts.stream()
-                .collect(Collectors.toMap(
-                        row -> (Long) row[0],
-                        row -> (Long) row[1]));
-
-        // Set trending flag on each property
-        for (Property p : properties) {
-            Long likes = likeCountMap.getOrDefault(p.getId(), 0L);
-            p.setIsTrending(likes >= TRENDING_LIKES_THRESHOLD);
-        }
-    }
-
-    private void populateActiveViewers(List<Property> properties) {
-        if (properties.isEmpty())
-            return;
-
-        List<Long> propertyIds = properties.stream()
-                .map(Property::getId)
-                .collect(Collectors.toList());
-
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ACTIVE_VIEWERS_WINDOW_MINUTES);
-        List<Object[]> counts = propertyViewRepository.countActiveViewersForProperties(propertyIds, cutoff);
-
-        // Build map: propertyId -> viewerCount
-        Map<Long, Integer> countMap = counts.stream()
-                .collect(Collectors.toMap(
-                        row -> (Long) row[0],
-                        row -> ((Number) row[1]).intValue()));
-
-        for (Property p : properties) {
-            p.setActiveViewersCount(countMap.getOrDefault(p.getId(), 0));
+    private void populateActiveViewers(List<PropertyFeedResponse> properties) {
+        for (PropertyFeedResponse p : properties) {
+            p.setActiveViewersCount(activeViewers.count(p.getId()));
         }
     }
 
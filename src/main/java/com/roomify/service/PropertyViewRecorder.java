@@ -0,0 +1,148 @@
+package com.roomify.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind logging of property views. A detail view only touches memory:
+ * the 5-minute dedup is a map of (property, viewer) -> last logged time, and
+ * a new view goes onto a bounded queue. A scheduled writer drains the queue
+ * into multi-row INSERTs, so reads never wait on a write.
+ *
+ * When the queue is full the view is dropped and counted; views are
+ * analytics, not something worth blocking a request for.
+ */
+@Component
+public class PropertyViewRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyViewRecorder.class);
+
+    static final long DEDUP_WINDOW_MILLIS = 5 * 60_000L;
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<PendingView> queue;
+    private final Map<String, Long> lastLogged = new ConcurrentHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private record PendingView(long propertyId, String viewerId, LocalDateTime viewedAt) {
+    }
+
+    /**
+     * Counters since startup, plus the current queue depth.
+     */
+    public record Stats(int queueDepth, int queueCapacity, long accepted, long deduplicated,
+                        long dropped, long written, long failed) {
+    }
+
+    public PropertyViewRecorder(JdbcTemplate jdbcTemplate,
+                                @Value("${roomify.views.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queue a view unless the same viewer was logged on the property in the
+     * last 5 minutes. Never blocks.
+     */
+    public void record(long propertyId, String viewerId) {
+        long now = System.currentTimeMillis();
+        String key = propertyId + ":" + viewerId;
+        boolean[] fresh = new boolean[1];
+        lastLogged.compute(key, (k, last) -> {
+            if (last != null && now - last < DEDUP_WINDOW_MILLIS) {
+                return last;
+            }
+            fresh[0] = true;
+            return now;
+        });
+        if (!fresh[0]) {
+            deduplicated.incrementAndGet();
+            return;
+        }
+
+        if (queue.offer(new PendingView(propertyId, viewerId, LocalDateTime.now()))) {
+            accepted.incrementAndGet();
+        } else {
+            // Let the next view of this viewer try again
+            lastLogged.remove(key, now);
+            dropped.incrementAndGet();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), queue.size() + queue.remainingCapacity(), accepted.get(),
+                deduplicated.get(), dropped.get(), written.get(), failed.get());
+    }
+
+    /**
+     * Drain the queue in batches of BATCH_SIZE rows.
+     */
+    @Scheduled(fixedDelayString = "${roomify.views.flush-interval-ms:1000}")
+    public void flush() {
+        List<PendingView> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                written.addAndGet(insert(batch));
+            } catch (Exception e) {
+                failed.addAndGet(batch.size());
+                log.error("Failed to write {} property views: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+        expireDedup();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * One INSERT ... SELECT over a VALUES list; views of properties deleted in
+     * the meantime are skipped by the join instead of failing the batch.
+     */
+    private int insert(List<PendingView> batch) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO property_views (property_id, viewer_id, viewed_at) " +
+                "SELECT v.property_id, v.viewer_id, v.viewed_at FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 3];
+        for (int i = 0; i < batch.size(); i++) {
+            PendingView view = batch.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS TIMESTAMP))");
+            args[i * 3] = view.propertyId();
+            args[i * 3 + 1] = view.viewerId();
+            args[i * 3 + 2] = Timestamp.valueOf(view.viewedAt());
+        }
+        sql.append(") AS v (property_id, viewer_id, viewed_at) JOIN properties p ON p.id = v.property_id");
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void expireDedup() {
+        long cutoff = System.currentTimeMillis() - DEDUP_WINDOW_MILLIS;
+        lastLogged.values().removeIf(last -> last < cutoff);
+    }
+}
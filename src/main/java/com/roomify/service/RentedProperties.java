@@ -0,0 +1,147 @@
+package com.roomify.service;
+
+import com.roomify.model.enums.LeaseStatus;
+import com.roomify.repository.LeaseAgreementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Process-wide set of property ids with an ACTIVE lease, as a bitmap keyed by
+ * id (identity ids are small and dense). Loaded once from the database, then
+ * kept up to date in place when a lease is activated, so "is it rented?"
+ * never needs a query.
+ */
+@Component
+public class RentedProperties {
+
+    private static final Logger log = LoggerFactory.getLogger(RentedProperties.class);
+
+    private final LeaseAgreementRepository leaseAgreementRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet rented = new BitSet();
+    // Ids that do not fit a BitSet index; never expected with identity ids
+    private final Set<Long> overflow = new HashSet<>();
+
+    private volatile boolean loaded;
+
+    public RentedProperties(LeaseAgreementRepository leaseAgreementRepository) {
+        this.leaseAgreementRepository = leaseAgreementRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureLoaded();
+        } catch (Exception e) {
+            // Retried on first use
+            log.error("RentedProperties warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload from the database (one scalar query).
+     */
+    public void reload() {
+        List<Long> ids = leaseAgreementRepository.findPropertyIdsByLeaseStatus(LeaseStatus.ACTIVE);
+        lock.writeLock().lock();
+        try {
+            rented.clear();
+            overflow.clear();
+            for (Long id : ids) {
+                set(id);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("RentedProperties loaded {} rented properties", ids.size());
+    }
+
+    public boolean isRented(long propertyId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return fits(propertyId) ? rented.get((int) propertyId) : overflow.contains(propertyId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return rented.cardinality() + overflow.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A lease on the property became ACTIVE.
+     */
+    public void markRentedAfterCommit(Long propertyId) {
+        TransactionHooks.afterCommit(() -> markRented(propertyId));
+    }
+
+    /**
+     * The property was deleted.
+     */
+    public void forgetAfterCommit(Long propertyId) {
+        TransactionHooks.afterCommit(() -> forget(propertyId));
+    }
+
+    public void markRented(long propertyId) {
+        lock.writeLock().lock();
+        try {
+            set(propertyId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void forget(long propertyId) {
+        lock.writeLock().lock();
+        try {
+            if (fits(propertyId)) {
+                rented.clear((int) propertyId);
+            } else {
+                overflow.remove(propertyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private void set(long propertyId) {
+        if (fits(propertyId)) {
+            rented.set((int) propertyId);
+        } else {
+            overflow.add(propertyId);
+        }
+    }
+
+    private static boolean fits(long propertyId) {
+        return propertyId >= 0 && propertyId < Integer.MAX_VALUE;
+    }
+}
@@ -18,6 +18,8 @@ public class ReportService {
 
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
+    private final TenantFeedCache tenantFeedCache;
+    private final TenantIndex tenantIndex;
 
     @Transactional
     public Report createReport(String reporterId, CreateReportRequest req) {
@@ -59,6 +61,8 @@ public class ReportService {
                 // Assuming you added 'private Boolean isBanned = false;' to User.java
                 reportedUser.setIsBanned(true);
                 userRepository.save(reportedUser);
+                tenantIndex.upsertAfterCommit(reportedUser);
+                tenantFeedCache.invalidateAllAfterCommit();
                 break;
             case "PENALIZE":
                 int currentScore = reportedUser.getSeriousnessScore() != null ? reportedUser.getSeriousnessScore() : 0;
@@ -0,0 +1,232 @@
+package com.roomify.service;
+
+import com.roomify.model.enums.MatchStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of the landlord feed: the best ranked tenant ids of one
+ * (landlord, property), with each tenant's attribute score and history score.
+ * A ranking holds only the window that was requested (see TenantRanker), so
+ * it is either complete or a prefix of the full order.
+ *
+ * A swipe on the property does not drop the ranking: the tenant is removed
+ * or re-positioned in place, so consecutive swipes just advance through the
+ * list. Changes to the property's requirements or to any tenant's lifestyle
+ * fields drop rankings instead (after commit).
+ */
+@Component
+public class TenantFeedCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Ranking> entries;
+
+    // Bumped on every change; a ranking computed before a change is never stored
+    private long generation;
+
+    /**
+     * Ranked tenants, best first: by total score, then by id. When not
+     * {@code complete}, tenants below the last one were left out.
+     */
+    public static final class Ranking {
+        private final long propertyId;
+        private final boolean complete;
+        private String[] tenantIds;
+        private double[] baseScores;
+        private double[] historyScores;
+        private int size;
+
+        public Ranking(long propertyId, int capacity, boolean complete) {
+            this.propertyId = propertyId;
+            this.complete = complete;
+            this.tenantIds = new String[Math.max(capacity, 1)];
+            this.baseScores = new double[tenantIds.length];
+            this.historyScores = new double[tenantIds.length];
+        }
+
+        /**
+         * Append in ranked order (used while building).
+         */
+        public void add(String tenantId, double baseScore, double historyScore) {
+            if (size == tenantIds.length) {
+                tenantIds = Arrays.copyOf(tenantIds, size * 2);
+                baseScores = Arrays.copyOf(baseScores, size * 2);
+                historyScores = Arrays.copyOf(historyScores, size * 2);
+            }
+            tenantIds[size] = tenantId;
+            baseScores[size] = baseScore;
+            historyScores[size] = historyScore;
+            size++;
+        }
+
+        public List<String> tenantIds() {
+            return List.of(Arrays.copyOf(tenantIds, size));
+        }
+
+        private double total(int i) {
+            return baseScores[i] + historyScores[i];
+        }
+
+        private int indexOf(String tenantId) {
+            for (int i = 0; i < size; i++) {
+                if (tenantIds[i].equals(tenantId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeAt(int i) {
+            int tail = size - i - 1;
+            System.arraycopy(tenantIds, i + 1, tenantIds, i, tail);
+            System.arraycopy(baseScores, i + 1, baseScores, i, tail);
+            System.arraycopy(historyScores, i + 1, historyScores, i, tail);
+            tenantIds[--size] = null;
+        }
+
+        private void insertRanked(String tenantId, double baseScore, double historyScore) {
+            double total = baseScore + historyScore;
+            int pos = 0;
+            while (pos < size && (total(pos) > total
+                    || (total(pos) == total && tenantIds[pos].compareTo(tenantId) < 0))) {
+                pos++;
+            }
+            if (pos == size && !complete) {
+                // Tenants left out of a partial ranking may rank above it: keep it out too
+                return;
+            }
+            add(tenantId, 0, 0); // grow
+            int tail = size - pos - 1;
+            System.arraycopy(tenantIds, pos, tenantIds, pos + 1, tail);
+            System.arraycopy(baseScores, pos, baseScores, pos + 1, tail);
+            System.arraycopy(historyScores, pos, historyScores, pos + 1, tail);
+            tenantIds[pos] = tenantId;
+            baseScores[pos] = baseScore;
+            historyScores[pos] = historyScore;
+        }
+
+        /**
+         * Apply a new match state; false when the tenant's base score is
+         * unknown (it was not ranked) and it would now be visible.
+         */
+        private boolean apply(String tenantId, MatchStatus status, double matchScore) {
+            int i = indexOf(tenantId);
+            if (hidesTenant(status)) {
+                if (i >= 0) {
+                    removeAt(i);
+                }
+                return true;
+            }
+            if (i < 0) {
+                return false;
+            }
+            double baseScore = baseScores[i];
+            double historyScore = historyScoreOf(status, matchScore);
+            removeAt(i);
+            if (baseScore + historyScore > 0.0) {
+                insertRanked(tenantId, baseScore, historyScore);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Statuses that hide the tenant from the landlord's feed for the property.
+     */
+    public static boolean hidesTenant(MatchStatus status) {
+        return status == MatchStatus.MATCHED || status == MatchStatus.LANDLORD_LIKED;
+    }
+
+    /**
+     * Part of the match score that counts in the landlord feed: only a
+     * landlord decline keeps the (negative) accumulated score.
+     */
+    public static double historyScoreOf(MatchStatus status, double matchScore) {
+        return status == MatchStatus.LANDLORD_DECLINED ? matchScore : 0.0;
+    }
+
+    public TenantFeedCache(@Value("${roomify.tenant-feed.cache.max-entries:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Ranking> eldest) {
+                return size() > TenantFeedCache.this.maxEntries;
+            }
+        };
+    }
+
+    private static String key(String landlordId, long propertyId) {
+        return landlordId + ":" + propertyId;
+    }
+
+    /**
+     * The cached ranking if it has at least {@code minSize} tenants or is
+     * complete, otherwise null.
+     */
+    public synchronized List<String> get(String landlordId, long propertyId, int minSize) {
+        Ranking ranking = entries.get(key(landlordId, propertyId));
+        return ranking != null && (ranking.complete || ranking.size >= minSize) ? ranking.tenantIds() : null;
+    }
+
+    /**
+     * Token to pass to {@link #put} for a ranking about to be computed.
+     */
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    public synchronized void put(String landlordId, Ranking ranking, long stamp) {
+        if (stamp == generation) {
+            entries.put(key(landlordId, ranking.propertyId), ranking);
+        }
+    }
+
+    /**
+     * A match on the property changed status or score (swipe, chat step,
+     * pruning; status null = match deleted).
+     */
+    public void onMatchChangedAfterCommit(Long propertyId, String tenantId, MatchStatus status, double matchScore) {
+        TransactionHooks.afterCommit(() -> onMatchChanged(propertyId, tenantId, status, matchScore));
+    }
+
+    /**
+     * The property's requirements changed, or it was deleted.
+     */
+    public void invalidatePropertyAfterCommit(Long propertyId) {
+        TransactionHooks.afterCommit(() -> invalidateProperty(propertyId));
+    }
+
+    /**
+     * A tenant joined, left, was (un)banned or changed lifestyle fields.
+     */
+    public void invalidateAllAfterCommit() {
+        TransactionHooks.afterCommit(this::invalidateAll);
+    }
+
+    public synchronized void onMatchChanged(long propertyId, String tenantId, MatchStatus status, double matchScore) {
+        generation++;
+        Iterator<Ranking> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Ranking ranking = it.next();
+            if (ranking.propertyId == propertyId && !ranking.apply(tenantId, status, matchScore)) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateProperty(long propertyId) {
+        generation++;
+        entries.values().removeIf(ranking -> ranking.propertyId == propertyId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+}
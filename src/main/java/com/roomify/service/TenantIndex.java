@@ -0,0 +1,306 @@
+package com.roomify.service;
+
+import com.roomify.model.User;
+import com.roomify.model.enums.PreferredTenantType;
+import com.roomify.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over users for the landlord feed: every user gets a dense
+ * slot, and each attribute the tenant ranking looks at (eligible tenant,
+ * has pets, smoker, tenant type) maps to a BitSet of slots. Dealbreakers and
+ * tenant-type boosts are then AND/ANDNOT over whole bitsets, and only the
+ * qualifying slots are visited.
+ * Kept up to date after commit by the services that change users.
+ */
+@Component
+public class TenantIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantIndex.class);
+
+    private static final PreferredTenantType[] TENANT_TYPES = PreferredTenantType.values();
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private String[] ids = new String[256];
+    private int size;
+
+    private final BitSet eligible = new BitSet(); // tenant role, not banned
+    private final BitSet petOwners = new BitSet();
+    private final BitSet smokers = new BitSet();
+    private final BitSet typed = new BitSet(); // has a tenant type
+    private final BitSet[] byType = new BitSet[TENANT_TYPES.length];
+
+    private volatile boolean ready;
+
+    public TenantIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Immutable copy of the indexed attributes of one user.
+     */
+    public static final class Row {
+        final String id;
+        final boolean eligible;
+        final boolean hasPets;
+        final boolean smoker;
+        final PreferredTenantType tenantType;
+
+        Row(String id, String roleName, Boolean banned, Boolean hasPets, Boolean smoker,
+            PreferredTenantType tenantType) {
+            this.id = id;
+            this.eligible = roleName != null
+                    && ("USER".equalsIgnoreCase(roleName) || "TENANT".equalsIgnoreCase(roleName))
+                    && !Boolean.TRUE.equals(banned);
+            this.hasPets = Boolean.TRUE.equals(hasPets);
+            this.smoker = Boolean.TRUE.equals(smoker);
+            this.tenantType = tenantType;
+        }
+    }
+
+    public static Row rowOf(User user) {
+        return new Row(user.getId(), user.getRole() != null ? user.getRole().getName() : null,
+                user.getIsBanned(), user.getHasPets(), user.getIsSmoker(), user.getTenantType());
+    }
+
+    // ============================================================
+    // LOADING
+    // ============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Landlord feed falls back to the SQL path until the next successful rebuild
+            log.error("TenantIndex warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload every user from one scalar query.
+     */
+    public void rebuild() {
+        List<Row> rows = new ArrayList<>();
+        for (Object[] r : userRepository.findTenantIndexRows()) {
+            rows.add(new Row((String) r[0], (String) r[1], (Boolean) r[2], (Boolean) r[3], (Boolean) r[4],
+                    (PreferredTenantType) r[5]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            slotById.clear();
+            eligible.clear();
+            petOwners.clear();
+            smokers.clear();
+            typed.clear();
+            for (BitSet set : byType) {
+                set.clear();
+            }
+            for (Row row : rows) {
+                put(row);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("TenantIndex loaded {} users", rows.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ============================================================
+    // INCREMENTAL UPDATES
+    // ============================================================
+
+    /**
+     * Index (or re-index) a user once the current transaction commits.
+     */
+    public void upsertAfterCommit(User user) {
+        Row row = rowOf(user);
+        TransactionHooks.afterCommit(() -> upsert(row));
+    }
+
+    public void removeAfterCommit(String userId) {
+        TransactionHooks.afterCommit(() -> remove(userId));
+    }
+
+    public void upsert(Row row) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(row.id);
+            if (slot != null) {
+                write(slot, row);
+            } else {
+                put(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(userId);
+            if (slot == null) {
+                return;
+            }
+            // Keep slots dense: move the last user into the freed slot
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                copyBits(last, slot);
+                slotById.put(ids[slot], slot);
+            }
+            ids[last] = null;
+            clearBits(last);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================================
+    // READ ACCESS
+    // ============================================================
+
+    /**
+     * Receives a qualifying tenant and its attribute score.
+     */
+    @FunctionalInterface
+    public interface CandidateVisitor {
+        void visit(String tenantId, double baseScore);
+    }
+
+    /**
+     * Visit the eligible tenants without the excluded dealbreakers, with
+     * {@code neutral} as base score, {@code neutral + typeBoost} for a
+     * preferred tenant type and {@code neutral - typeBoost} for any other
+     * set type (no preference list: every tenant is neutral).
+     */
+    public void forEachCandidate(boolean excludePetOwners, boolean excludeSmokers,
+                                 Set<PreferredTenantType> preferredTypes, double neutral, double typeBoost,
+                                 CandidateVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) eligible.clone();
+            if (excludePetOwners) candidates.andNot(petOwners);
+            if (excludeSmokers) candidates.andNot(smokers);
+
+            if (preferredTypes == null || preferredTypes.isEmpty()) {
+                visit(candidates, neutral, visitor);
+                return;
+            }
+
+            BitSet preferred = new BitSet();
+            for (PreferredTenantType type : preferredTypes) {
+                preferred.or(byType[type.ordinal()]);
+            }
+            preferred.and(candidates);
+
+            BitSet other = (BitSet) typed.clone();
+            other.and(candidates);
+            other.andNot(preferred);
+
+            candidates.andNot(preferred);
+            candidates.andNot(other);
+
+            visit(preferred, neutral + typeBoost, visitor);
+            visit(candidates, neutral, visitor);
+            visit(other, neutral - typeBoost, visitor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of all eligible tenants (unordered).
+     */
+    public List<String> eligibleIds() {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>(eligible.cardinality());
+            for (int slot = eligible.nextSetBit(0); slot >= 0; slot = eligible.nextSetBit(slot + 1)) {
+                result.add(ids[slot]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void visit(BitSet slots, double score, CandidateVisitor visitor) {
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            visitor.visit(ids[slot], score);
+        }
+    }
+
+    // ============================================================
+    // STORAGE (write lock held)
+    // ============================================================
+
+    private void put(Row row) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int slot = size++;
+        ids[slot] = row.id;
+        slotById.put(row.id, slot);
+        write(slot, row);
+    }
+
+    private void write(int slot, Row row) {
+        eligible.set(slot, row.eligible);
+        petOwners.set(slot, row.hasPets);
+        smokers.set(slot, row.smoker);
+        typed.set(slot, row.tenantType != null);
+        for (int i = 0; i < byType.length; i++) {
+            byType[i].set(slot, row.tenantType != null && row.tenantType.ordinal() == i);
+        }
+    }
+
+    private void copyBits(int from, int to) {
+        eligible.set(to, eligible.get(from));
+        petOwners.set(to, petOwners.get(from));
+        smokers.set(to, smokers.get(from));
+        typed.set(to, typed.get(from));
+        for (BitSet set : byType) {
+            set.set(to, set.get(from));
+        }
+    }
+
+    private void clearBits(int slot) {
+        eligible.clear(slot);
+        petOwners.clear(slot);
+        smokers.clear(slot);
+        typed.clear(slot);
+        for (BitSet set : byType) {
+            set.clear(slot);
+        }
+    }
+}
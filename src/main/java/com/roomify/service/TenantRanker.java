@@ -0,0 +1,122 @@
+package com.roomify.service;
+
+import java.util.Arrays;
+
+/**
+ * Ranking stage of the landlord feed: keeps the K best tenants offered so far
+ * in a bounded min-heap over parallel arrays, like FeedRanker, so memory is
+ * O(K) however many tenants qualify. Order is total score descending, then
+ * tenant id.
+ */
+final class TenantRanker {
+
+    private final int k;
+    // Heap ordered worst-first: index 0 is the worst of the current top-K
+    private String[] ids;
+    private double[] baseScores;
+    private double[] historyScores;
+    private int size;
+    private long offered;
+
+    TenantRanker(int k) {
+        this.k = Math.max(k, 0);
+        int capacity = Math.max(Math.min(this.k, 64), 1);
+        this.ids = new String[capacity];
+        this.baseScores = new double[capacity];
+        this.historyScores = new double[capacity];
+    }
+
+    void offer(String tenantId, double baseScore, double historyScore) {
+        offered++;
+        if (size < k) {
+            if (size == ids.length) {
+                int capacity = (int) Math.min((long) size * 2, k);
+                ids = Arrays.copyOf(ids, capacity);
+                baseScores = Arrays.copyOf(baseScores, capacity);
+                historyScores = Arrays.copyOf(historyScores, capacity);
+            }
+            set(size, tenantId, baseScore, historyScore);
+            siftUp(size++);
+        } else if (k > 0 && better(baseScore + historyScore, tenantId, 0)) {
+            set(0, tenantId, baseScore, historyScore);
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * The kept tenants best first; complete when nothing was cut off.
+     */
+    TenantFeedCache.Ranking toRanking(long propertyId) {
+        String[] sortedIds = new String[size];
+        double[] sortedBase = new double[size];
+        double[] sortedHistory = new double[size];
+        // Pop worst-first into the tail: leaves the arrays sorted best-first
+        for (int end = size - 1; end >= 0; end--) {
+            sortedIds[end] = ids[0];
+            sortedBase[end] = baseScores[0];
+            sortedHistory[end] = historyScores[0];
+            swap(0, end);
+            siftDown(0, end);
+        }
+
+        TenantFeedCache.Ranking ranking = new TenantFeedCache.Ranking(propertyId, size, offered <= k);
+        for (int i = 0; i < sortedIds.length; i++) {
+            ranking.add(sortedIds[i], sortedBase[i], sortedHistory[i]);
+        }
+        return ranking;
+    }
+
+    private double total(int i) {
+        return baseScores[i] + historyScores[i];
+    }
+
+    private boolean better(double total, String tenantId, int than) {
+        double other = total(than);
+        return total > other || (total == other && tenantId.compareTo(ids[than]) < 0);
+    }
+
+    private void set(int i, String tenantId, double baseScore, double historyScore) {
+        ids[i] = tenantId;
+        baseScores[i] = baseScore;
+        historyScores[i] = historyScore;
+    }
+
+    private void swap(int a, int b) {
+        String id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double base = baseScores[a];
+        baseScores[a] = baseScores[b];
+        baseScores[b] = base;
+        double history = historyScores[a];
+        historyScores[a] = historyScores[b];
+        historyScores[b] = history;
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(total(parent), ids[parent], pos)) {
+                break;
+            }
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos, int size) {
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && better(total(child), ids[child], right)) {
+                child = right;
+            }
+            if (!better(total(pos), ids[pos], child)) {
+                break;
+            }
+            swap(pos, child);
+            pos = child;
+        }
+    }
+}
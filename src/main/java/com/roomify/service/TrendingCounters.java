@@ -0,0 +1,136 @@
+package com.roomify.service;
+
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.repository.MatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Likes per property over the last 48 hours, for the "Trending" badge. Each
+ * property has a ring of 48 hourly counters; a like lands in the slot of the
+ * current hour and slots older than the window are ignored (and reused), so
+ * the count is a sum of at most 48 ints with no query.
+ *
+ * Fed by tenant likes and matches as they commit; rebuilt from the matches
+ * table at startup.
+ */
+@Component
+public class TrendingCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingCounters.class);
+
+    static final int WINDOW_HOURS = 48;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final MatchRepository matchRepository;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    public TrendingCounters(MatchRepository matchRepository) {
+        this.matchRepository = matchRepository;
+    }
+
+    /**
+     * Hourly counters of one property; slot = hour % WINDOW_HOURS, and
+     * hours[slot] records which hour the count belongs to.
+     */
+    private static final class Ring {
+        private final int[] counts = new int[WINDOW_HOURS];
+        private final long[] hours = new long[WINDOW_HOURS];
+
+        synchronized void add(long hour) {
+            int slot = (int) (hour % WINDOW_HOURS);
+            if (hour > hours[slot]) {
+                hours[slot] = hour;
+                counts[slot] = 0;
+            } else if (hour < hours[slot]) {
+                // The slot already belongs to a newer hour: this one is out of the window
+                return;
+            }
+            counts[slot]++;
+        }
+
+        synchronized int sum(long nowHour) {
+            int total = 0;
+            for (int i = 0; i < WINDOW_HOURS; i++) {
+                if (nowHour - hours[i] < WINDOW_HOURS) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Statuses that count as a like on the property.
+     */
+    public static boolean isLike(MatchStatus status) {
+        return status == MatchStatus.TENANT_LIKED || status == MatchStatus.MATCHED;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("TrendingCounters warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the window from the liked matches changed within the last 48
+     * hours, counted from the start of the oldest hour still summed.
+     */
+    public void rebuild() {
+        long oldestHour = System.currentTimeMillis() / HOUR_MILLIS - (WINDOW_HOURS - 1);
+        LocalDateTime since = new Timestamp(oldestHour * HOUR_MILLIS).toLocalDateTime();
+        List<Object[]> rows = matchRepository.findRecentLikeRows(since);
+        rings.clear();
+        for (Object[] row : rows) {
+            add((Long) row[0], Timestamp.valueOf((LocalDateTime) row[1]).getTime());
+        }
+        log.info("TrendingCounters loaded {} recent likes", rows.size());
+    }
+
+    /**
+     * A match changed status: counts a like when it moves into TENANT_LIKED
+     * or MATCHED from any other status (so a like that turns into a match is
+     * counted once).
+     */
+    public void onStatusChangedAfterCommit(Long propertyId, MatchStatus previous, MatchStatus current) {
+        if (isLike(current) && !isLike(previous)) {
+            TransactionHooks.afterCommit(() -> add(propertyId, System.currentTimeMillis()));
+        }
+    }
+
+    public int recentLikes(long propertyId) {
+        Ring ring = rings.get(propertyId);
+        return ring != null ? ring.sum(System.currentTimeMillis() / HOUR_MILLIS) : 0;
+    }
+
+    public void forget(long propertyId) {
+        rings.remove(propertyId);
+    }
+
+    /**
+     * Drop properties without a like in the window.
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    public void sweep() {
+        long nowHour = System.currentTimeMillis() / HOUR_MILLIS;
+        rings.values().removeIf(ring -> ring.sum(nowHour) == 0);
+    }
+
+    void add(long propertyId, long atMillis) {
+        rings.computeIfAbsent(propertyId, k -> new Ring()).add(atMillis / HOUR_MILLIS);
+    }
+}
@@ -11,6 +11,7 @@ import com.roomify.repository.RoleRepository;
 import com.roomify.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -33,20 +35,41 @@ public class UserService {
     // Break circular dependency if PropertyService injects UserService
     private final PropertyService propertyService;
     private final LeaseAgreementRepository leaseAgreementRepository;
+    private final FeedCache feedCache;
+    private final TenantFeedCache tenantFeedCache;
+    private final TenantIndex tenantIndex;
 
     private final Path rootLocation = Paths.get("uploads");
 
+    // Rows per landlord-feed candidate query
+    private static final int TENANT_SCAN_BATCH = 1000;
+    private static final double TENANT_BASE_SCORE = 50.0;
+    private static final double TENANT_TYPE_BOOST = 20.0;
+
+    // Profile fields the tenant feed ranking depends on
+    private static final Set<String> FEED_FIELDS = Set.of(
+            "role", "isSmoker", "hasPets", "wantsExtraBathroom", "minRooms", "tenantType");
+
+    // Profile fields the landlord feed (tenant ranking) depends on
+    private static final Set<String> TENANT_FEED_FIELDS = Set.of("role", "isSmoker", "hasPets", "tenantType");
+
     public UserService(UserRepository userRepository,
                        RoleRepository roleRepository,
                        MatchRepository matchRepository,
                        PropertyRepository propertyRepository,
                        LeaseAgreementRepository leaseAgreementRepository,
+                       FeedCache feedCache,
+                       TenantFeedCache tenantFeedCache,
+                       TenantIndex tenantIndex,
                        @Lazy PropertyService propertyService) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.matchRepository = matchRepository;
         this.propertyRepository = propertyRepository;
         this.leaseAgreementRepository = leaseAgreementRepository;
+        this.feedCache = feedCache;
+        this.tenantFeedCache = tenantFeedCache;
+        this.tenantIndex = tenantIndex;
         this.propertyService = propertyService;
         initStorage();
     }
@@ -83,90 +106,158 @@ public class UserService {
 
     // --- LANDLORD FEED LOGIC ---
     public List<User> getTenantFeed(String landlordId, Long propertyId) {
-        // 1. Get all potential tenants (Users with ROLE_USER or ROLE_TENANT)
-        // Optimization: In production, filter by role in DB query
-        List<User> allUsers = userRepository.findAll();
-        List<User> allTenants = allUsers.stream()
-                .filter(u -> u.getRole() != null &&
-                        ("USER".equalsIgnoreCase(u.getRole().getName()) ||
-                                "TENANT".equalsIgnoreCase(u.getRole().getName())))
-                .filter(u -> !Boolean.TRUE.equals(u.getIsBanned())) // Exclude banned users
-                .collect(Collectors.toList());
-
-        if (propertyId == null)
-            return allTenants;
+        return loadUsersInOrder(rankTenants(landlordId, propertyId, Integer.MAX_VALUE));
+    }
 
-        // 2. Filter out tenants already interacted with (Matched or Liked by Landlord)
+    /**
+     * One page of the landlord feed; only the pages up to this one are ranked
+     * and only the users on the page are loaded.
+     */
+    public List<User> getTenantFeed(String landlordId, Long propertyId, int page, int size) {
+        int pageSize = Math.max(size, 1);
+        int from = (int) Math.min((long) Math.max(page, 0) * pageSize, Integer.MAX_VALUE - pageSize);
+        List<String> rankedIds = rankTenants(landlordId, propertyId, from + pageSize);
+        int to = Math.min(from + pageSize, rankedIds.size());
+        return loadUsersInOrder(rankedIds.subList(Math.min(from, to), to));
+    }
 
-        List<Match> history = matchRepository.findTenantIdsInteractedByLandlord(landlordId, propertyId).stream()
-                .map(id -> matchRepository.findByTenant_IdAndProperty_Id(id, propertyId).orElse(null))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    /**
+     * Ids of the best {@code limit} tenants to show for a property, best first.
+     * Role, ban and dealbreaker (pets, smoking) filtering and the tenant-type
+     * rule run as bitset operations on TenantIndex; while it is not loaded they
+     * run in the database over keyset batches of (id, tenantType). No User
+     * entities are loaded, and only the top {@code limit} are kept
+     * (TenantRanker). Per-property rankings are cached in TenantFeedCache.
+     */
+    private List<String> rankTenants(String landlordId, Long propertyId, int limit) {
+        if (propertyId == null) {
+            if (tenantIndex.isReady()) {
+                List<String> ids = tenantIndex.eligibleIds();
+                Collections.sort(ids);
+                return ids.size() > limit ? ids.subList(0, limit) : ids;
+            }
+            List<String> ids = new ArrayList<>();
+            forEachTenantCandidate(false, false, limit, (id, type) -> ids.add(id));
+            return ids;
+        }
 
-        Set<String> hiddenTenantIds = history.stream()
-                .filter(m -> m.getStatus() == MatchStatus.MATCHED || m.getStatus() == MatchStatus.LANDLORD_LIKED)
-                .map(m -> m.getTenant().getId())
-                .collect(Collectors.toSet());
+        long stamp = tenantFeedCache.stamp();
+        List<String> cached = tenantFeedCache.get(landlordId, propertyId, limit);
+        if (cached != null)
+            return cached;
 
-        // 3. Score tenants against property requirements
         Property property = propertyRepository.findById(propertyId).orElseThrow();
-        Map<String, Double> scores = new HashMap<>();
+        LandlordHistory history = new LandlordHistory(matchRepository.findLandlordHistoryRows(landlordId, propertyId));
 
-        for (User tenant : allTenants) {
-            if (hiddenTenantIds.contains(tenant.getId()))
-                continue;
+        Set<PreferredTenantType> preferredTenants = property.getPreferredTenants();
+        // Rules A/B: pets and smoking are dealbreakers, applied before scoring
+        boolean excludePetOwners = Boolean.FALSE.equals(property.getPetFriendly());
+        boolean excludeSmokers = Boolean.FALSE.equals(property.getSmokerFriendly());
+        TenantRanker ranker = new TenantRanker(limit);
 
-            double score = 50.0;
+        TenantIndex.CandidateVisitor collect = (tenantId, baseScore) -> {
+            int h = history.find(tenantId);
+            if (h >= 0 && history.hidden[h])
+                return;
 
-            // Rule A: Pets (Dealbreaker)
-            if (Boolean.TRUE.equals(tenant.getHasPets()) && Boolean.FALSE.equals(property.getPetFriendly())) {
-                score = -100.0;
-            }
+            // Rule D: Previous interactions (if declined, lower score but maybe keep visible)
+            double historyScore = h >= 0 ? history.scores[h] : 0.0; // negative when declined
 
-            // Rule B: Smoking (Dealbreaker)
-            if (Boolean.TRUE.equals(tenant.getIsSmoker()) && Boolean.FALSE.equals(property.getSmokerFriendly())) {
-                score = -100.0;
+            if (baseScore + historyScore > 0.0) {
+                ranker.offer(tenantId, baseScore, historyScore);
             }
+        };
 
-            // Rule C: Tenant Type (Soft Preference)
-            if (score > 0 && property.getPreferredTenants() != null && !property.getPreferredTenants().isEmpty()) {
-                if (tenant.getTenantType() != null) {
-                    boolean isAccepted = property.getPreferredTenants().contains(tenant.getTenantType());
-                    if (!isAccepted) {
-                        score -= 20.0;
-                    } else {
-                        score += 20.0;
-                    }
-                }
-            }
+        if (tenantIndex.isReady()) {
+            tenantIndex.forEachCandidate(excludePetOwners, excludeSmokers, preferredTenants,
+                    TENANT_BASE_SCORE, TENANT_TYPE_BOOST, collect);
+        } else {
+            forEachTenantCandidate(excludePetOwners, excludeSmokers, Integer.MAX_VALUE,
+                    (tenantId, tenantType) -> collect.visit(tenantId, tenantBaseScore(tenantType, preferredTenants)));
+        }
 
-            // Rule D: Previous interactions (if declined, lower score but maybe keep visible)
-            // 4. History Penalty (If previously declined)
-            Optional<Match> prevInteraction = history.stream().filter(m -> m.getTenant().getId().equals(tenant.getId()))
-                    .findFirst();
-            if (prevInteraction.isPresent()) {
-                score += prevInteraction.get().getScore(); // Adds negative score
-            }
+        // Best first; equal scores in id order
+        TenantFeedCache.Ranking ranking = ranker.toRanking(propertyId);
+        tenantFeedCache.put(landlordId, ranking, stamp);
+        return ranking.tenantIds();
+    }
 
+    // Rule C: Tenant Type (Soft Preference)
+    private static double tenantBaseScore(PreferredTenantType tenantType, Set<PreferredTenantType> preferredTenants) {
+        if (preferredTenants == null || preferredTenants.isEmpty() || tenantType == null)
+            return TENANT_BASE_SCORE;
+        return preferredTenants.contains(tenantType)
+                ? TENANT_BASE_SCORE + TENANT_TYPE_BOOST
+                : TENANT_BASE_SCORE - TENANT_TYPE_BOOST;
+    }
 
-            if (score > 0.0) {
-                scores.put(tenant.getId(), score);
+    /**
+     * Visit up to {@code maxRows} candidate rows in id order.
+     */
+    private void forEachTenantCandidate(boolean excludePetOwners, boolean excludeSmokers, int maxRows,
+                                        BiConsumer<String, PreferredTenantType> action) {
+        String afterId = "";
+        int remaining = maxRows;
+        while (remaining > 0) {
+            int batchSize = Math.min(TENANT_SCAN_BATCH, remaining);
+            List<Object[]> batch = userRepository.findTenantCandidateRows(excludePetOwners, excludeSmokers,
+                    afterId, PageRequest.of(0, batchSize));
+            for (Object[] row : batch) {
+                action.accept((String) row[0], (PreferredTenantType) row[1]);
             }
+            remaining -= batch.size();
+            if (batch.size() < batchSize)
+                return;
+            afterId = (String) batch.get(batch.size() - 1)[0];
         }
+    }
 
-        // 4. Return sorted list
-        return allTenants.stream()
-                .filter(t -> scores.containsKey(t.getId()))
-                .sorted((t1, t2) -> Double.compare(scores.get(t2.getId()), scores.get(t1.getId())))
+    private List<User> loadUsersInOrder(List<String> ids) {
+        Map<String, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The landlord's history on one property as arrays sorted by tenant id:
+     * liked/matched tenants are hidden, declined ones keep their (negative) score.
+     */
+    private static final class LandlordHistory {
+        final String[] tenantIds;
+        final double[] scores;
+        final boolean[] hidden;
+
+        LandlordHistory(List<Object[]> rows) {
+            List<Object[]> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(row -> (String) row[0]));
+            tenantIds = new String[sorted.size()];
+            scores = new double[sorted.size()];
+            hidden = new boolean[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                Object[] row = sorted.get(i);
+                MatchStatus status = (MatchStatus) row[1];
+                tenantIds[i] = (String) row[0];
+                hidden[i] = TenantFeedCache.hidesTenant(status);
+                scores[i] = hidden[i] ? 0.0 : TenantFeedCache.historyScoreOf(status, (Double) row[2]);
+            }
+        }
+
+        int find(String tenantId) {
+            int i = Arrays.binarySearch(tenantIds, tenantId);
+            return i >= 0 ? i : -1;
+        }
+    }
+
     @Transactional
     public void deleteUser(String userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         if ("LANDLORD".equals(user.getRole().getName())) {
             propertyService.deleteAllByLandlord(userId);
         } else {
+            propertyRepository.decrementInterestedCountsForTenant(userId);
             matchRepository.deleteByTenantId(userId);
         }
         if (user.getPhotos() != null) {
@@ -174,6 +265,8 @@ public class UserService {
                 deleteFileFromDisk(photoUrl);
         }
         userRepository.delete(user);
+        tenantIndex.removeAfterCommit(userId);
+        tenantFeedCache.invalidateAllAfterCommit();
     }
 
     @Transactional
@@ -216,6 +309,13 @@ public class UserService {
                     if (payload.containsKey("photos"))
                         handlePhotos(existingUser, (List<String>) payload.get("photos"));
 
+                    if (FEED_FIELDS.stream().anyMatch(payload::containsKey))
+                        feedCache.invalidateAfterCommit(id);
+                    if (TENANT_FEED_FIELDS.stream().anyMatch(payload::containsKey)) {
+                        tenantIndex.upsertAfterCommit(existingUser);
+                        tenantFeedCache.invalidateAllAfterCommit();
+                    }
+
                     return userRepository.save(existingUser);
                 })
                 .orElseGet(() -> {
@@ -240,7 +340,10 @@ public class UserService {
                         if (!processed.isEmpty())
                             newUser.picture(processed.get(0));
                     }
-                    return userRepository.save(newUser.build());
+                    User created = newUser.build();
+                    tenantIndex.upsertAfterCommit(created);
+                    tenantFeedCache.invalidateAllAfterCommit();
+                    return userRepository.save(created);
                 });
     }
 
@@ -324,6 +427,8 @@ public class UserService {
                     .seriousnessScore(0)
                     .build();
 
+            tenantIndex.upsertAfterCommit(newUser);
+            tenantFeedCache.invalidateAllAfterCommit();
             return userRepository.save(newUser);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -0,0 +1,48 @@
+-- Move property_views to daily range partitions on viewed_at.
+-- Retention (PropertyViewPartitions) then drops whole partitions instead of
+-- running a large DELETE, and time-bounded reads only scan recent days.
+
+ALTER TABLE property_views RENAME TO property_views_legacy;
+DROP INDEX IF EXISTS idx_property_views_property_id;
+DROP INDEX IF EXISTS idx_property_views_viewed_at;
+DROP INDEX IF EXISTS idx_property_views_dedup;
+
+CREATE SEQUENCE property_views_id_seq_p;
+
+CREATE TABLE property_views (
+    id          BIGINT       NOT NULL DEFAULT nextval('property_views_id_seq_p'),
+    property_id BIGINT       NOT NULL REFERENCES properties (id) ON DELETE CASCADE,
+    viewer_id   VARCHAR(255) NOT NULL,
+    viewed_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT property_views_partitioned_pkey PRIMARY KEY (id, viewed_at)
+) PARTITION BY RANGE (viewed_at);
+
+ALTER SEQUENCE property_views_id_seq_p OWNED BY property_views.id;
+
+-- Rows outside any daily partition (clock skew, late maintenance) land here
+CREATE TABLE property_views_default PARTITION OF property_views DEFAULT;
+
+CREATE INDEX idx_property_views_property_id ON property_views (property_id);
+CREATE INDEX idx_property_views_viewed_at ON property_views (viewed_at);
+CREATE INDEX idx_property_views_dedup ON property_views (property_id, viewer_id, viewed_at);
+
+-- One partition per day for the 7-day retention window and the next 7 days
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(current_date - 7, current_date + 7, INTERVAL '1 day')::date LOOP
+        EXECUTE format(
+            'CREATE TABLE property_views_p%s PARTITION OF property_views FOR VALUES FROM (%L) TO (%L)',
+            to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO property_views (id, property_id, viewer_id, viewed_at)
+SELECT id, property_id, viewer_id, viewed_at
+FROM property_views_legacy
+WHERE viewed_at >= current_date - 7;
+
+SELECT setval('property_views_id_seq_p', COALESCE((SELECT MAX(id) FROM property_views_legacy), 0) + 1, false);
+
+DROP TABLE property_views_legacy;
@@ -0,0 +1,13 @@
+-- Hourly per-property rollup of views, unique viewers and likes, filled by
+-- PropertyStatsRollupTask. Kept long after raw property_views are dropped.
+
+CREATE TABLE property_stats_hourly (
+    property_id    BIGINT       NOT NULL REFERENCES properties (id) ON DELETE CASCADE,
+    bucket_start   TIMESTAMP(6) NOT NULL,
+    views          BIGINT       NOT NULL DEFAULT 0,
+    unique_viewers BIGINT       NOT NULL DEFAULT 0,
+    likes          BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (property_id, bucket_start)
+);
+
+CREATE INDEX idx_property_stats_hourly_bucket ON property_stats_hourly (bucket_start);
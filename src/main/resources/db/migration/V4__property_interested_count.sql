@@ -0,0 +1,9 @@
+-- Denormalized count of TENANT_LIKED matches per property, replacing the
+-- correlated subquery Property.interestedCount used to run on every load.
+-- Maintained by MatchService, reconciled nightly by InterestCountReconciliationTask.
+
+ALTER TABLE properties ADD COLUMN interested_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE properties p
+SET interested_count = (SELECT COUNT(*) FROM matches m
+                        WHERE m.property_id = p.id AND m.status = 'TENANT_LIKED');
@@ -0,0 +1,168 @@
+package com.roomify.configurations;
+
+import com.roomify.configurations.security.AdminAuthorizationManager;
+import com.roomify.configurations.security.SecurityConfig;
+import com.roomify.configurations.security.StompAuthChannelInterceptor;
+import com.roomify.repository.UserRepository;
+import com.roomify.service.ChatEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * STOMP endpoint end to end, without a database: the real security and
+ * WebSocket configuration on a random port, with the JWT decoder mocked.
+ */
+@SpringBootTest(classes = WebSocketConfigTest.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost/",
+                "auth0.audience=test"
+        })
+class WebSocketConfigTest {
+
+    @Configuration
+    @EnableAutoConfiguration(excludeName = {
+            "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration",
+            "org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration"
+    })
+    @Import({ SecurityConfig.class, AdminAuthorizationManager.class, WebSocketConfig.class,
+            StompAuthChannelInterceptor.class, ChatEventPublisher.class })
+    static class TestApp {
+    }
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @MockitoBean
+    UserRepository userRepository;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ChatEventPublisher chatEventPublisher;
+
+    private WebSocketStompClient client;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("bad token"));
+        when(jwtDecoder.decode(eq("landlord-token"))).thenReturn(Jwt.withTokenValue("landlord-token")
+                .header("alg", "none").subject("auth0|landlord")
+                .issuedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60)).build());
+
+        client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new JacksonJsonMessageConverter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.stop();
+    }
+
+    @Test
+    void authenticatedSessionReceivesChatPush() throws Exception {
+        StompSession session = connect("Bearer landlord-token", new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/chat", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<?, ?>) payload);
+            }
+        });
+
+        // The subscription is registered asynchronously: publish until it arrives
+        Map<?, ?> event = null;
+        for (int attempt = 0; attempt < 25 && event == null; attempt++) {
+            chatEventPublisher.messageCreatedAfterCommit(7L,
+                    "auth0|tenant", Map.of("text", "hello", "sender", "me"),
+                    "auth0|landlord", Map.of("text", "hello", "sender", "other"));
+            event = received.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(event).isNotNull();
+        assertThat(event.get("type")).isEqualTo("MESSAGE");
+        assertThat(event.get("matchId")).isEqualTo("7");
+        assertThat(((Map<?, ?>) event.get("message")).get("sender")).isEqualTo("other");
+        session.disconnect();
+    }
+
+    @Test
+    void connectWithoutTokenIsRejected() {
+        CompletableFuture<StompSession> future = connect(null, new StompSessionHandlerAdapter() {
+        });
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void connectWithInvalidTokenIsRejected() {
+        CompletableFuture<StompSession> future = connect("Bearer forged", new StompSessionHandlerAdapter() {
+        });
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    void sendIsRejected() throws Exception {
+        BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+        StompSession session = connect("Bearer landlord-token", new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                errors.add(String.valueOf(headers.getFirst("message")));
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        session.send("/app/chat", "hello");
+
+        assertThat(errors.poll(10, TimeUnit.SECONDS)).contains("REST API");
+    }
+
+    private CompletableFuture<StompSession> connect(String authorization, StompSessionHandler handler) {
+        StompHeaders headers = new StompHeaders();
+        if (authorization != null) {
+            headers.add("Authorization", authorization);
+        }
+        return client.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), headers, handler);
+    }
+}
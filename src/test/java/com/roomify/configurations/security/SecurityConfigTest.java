@@ -0,0 +1,106 @@
+package com.roomify.configurations.security;
+
+import com.roomify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * /api/admin/** needs the ADMIN role from the users table; other routes only
+ * need a valid token.
+ */
+@SpringBootTest(classes = SecurityConfigTest.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost/",
+                "auth0.audience=test"
+        })
+class SecurityConfigTest {
+
+    @Configuration
+    @EnableAutoConfiguration(excludeName = {
+            "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration",
+            "org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.data.jpa.autoconfigure.DataJpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration"
+    })
+    @Import({ SecurityConfig.class, AdminAuthorizationManager.class, PingController.class })
+    static class TestApp {
+    }
+
+    @RestController
+    static class PingController {
+        @GetMapping({ "/api/admin/metrics/property-views", "/api/properties/feed" })
+        String ping() {
+            return "ok";
+        }
+    }
+
+    @MockitoBean
+    JwtDecoder jwtDecoder;
+
+    @MockitoBean
+    UserRepository userRepository;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("bad token"));
+        for (String subject : new String[] { "admin", "landlord", "stranger" }) {
+            when(jwtDecoder.decode(eq(subject + "-token"))).thenReturn(Jwt.withTokenValue(subject + "-token")
+                    .header("alg", "none").subject(subject)
+                    .issuedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60)).build());
+        }
+        when(userRepository.findRoleNameById(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findRoleNameById("admin")).thenReturn(Optional.of("ADMIN"));
+        when(userRepository.findRoleNameById("landlord")).thenReturn(Optional.of("LANDLORD"));
+    }
+
+    @Test
+    void adminRoutesNeedTheAdminRole() throws Exception {
+        assertThat(get("/api/admin/metrics/property-views", "admin-token")).isEqualTo(200);
+        assertThat(get("/api/admin/metrics/property-views", "landlord-token")).isEqualTo(403);
+        assertThat(get("/api/admin/metrics/property-views", "stranger-token")).isEqualTo(403);
+        assertThat(get("/api/admin/metrics/property-views", null)).isEqualTo(401);
+    }
+
+    @Test
+    void otherRoutesOnlyNeedAToken() throws Exception {
+        assertThat(get("/api/properties/feed", "landlord-token")).isEqualTo(200);
+        assertThat(get("/api/properties/feed", "forged")).isEqualTo(401);
+    }
+
+    private int get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,79 @@
+package com.roomify.controller;
+
+import com.roomify.model.ChatMessage;
+import com.roomify.repository.ChatMessageRepository;
+import com.roomify.repository.LeaseAgreementRepository;
+import com.roomify.repository.MatchRepository;
+import com.roomify.repository.UserRepository;
+import com.roomify.service.ChatEventPublisher;
+import com.roomify.service.ChatService;
+import com.roomify.service.FeedCache;
+import com.roomify.service.TenantFeedCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ChatControllerTest {
+
+    private ChatMessageRepository chatMessageRepository;
+    private ChatController controller;
+    private final Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("tenant")
+            .issuedAt(Instant.now()).expiresAt(Instant.now().plusSeconds(60)).build();
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        ChatService chatService = new ChatService(mock(MatchRepository.class), chatMessageRepository,
+                mock(UserRepository.class), mock(LeaseAgreementRepository.class), mock(FeedCache.class),
+                mock(TenantFeedCache.class), mock(ChatEventPublisher.class));
+        controller = new ChatController(chatService);
+    }
+
+    @Test
+    void beforeAndAfterTogetherIsABadRequest() {
+        ResponseEntity<?> response = controller.getMessages(7L, 5L, 9L, null, jwt);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isEqualTo(Map.of("error", "Use either before or after, not both"));
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    void unknownCursorIsABadRequest() {
+        ResponseEntity<?> response = controller.getMessages(7L, 5L, null, null, jwt);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void withoutParametersTheWholeHistoryIsReturned() {
+        when(chatMessageRepository.findByMatchIdOrderByCreatedAtAsc(7L)).thenReturn(List.<ChatMessage>of());
+
+        ResponseEntity<?> response = controller.getMessages(7L, null, null, null, jwt);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(List.of());
+    }
+
+    @Test
+    void limitAloneIsTheLatestPage() {
+        when(chatMessageRepository.findLatestPage(anyLong(), any())).thenReturn(List.of());
+
+        ResponseEntity<?> response = controller.getMessages(7L, null, null, 20, jwt);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,128 @@
+package com.roomify.repository;
+
+import com.roomify.model.ChatMessage;
+import com.roomify.model.Match;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.model.enums.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatMessageRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private User tenant;
+    private User landlord;
+    private Match match;
+    // In chat order: pairs of messages share a timestamp, so pages must break ties on id
+    private final List<ChatMessage> history = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tenant = user("tenant");
+        landlord = user("landlord");
+        match = match(tenant, property(landlord), MatchStatus.MATCHED);
+        for (int i = 0; i < 10; i++) {
+            history.add(message(i % 2 == 0 ? tenant : landlord, "message " + i, start.plusMinutes(i / 2)));
+        }
+        // Another chat's messages never show up
+        Match other = match(user("other"), property(landlord), MatchStatus.MATCHED);
+        message(other, landlord, "elsewhere", start.plusMinutes(2));
+        entityManager.clear();
+    }
+
+    @Test
+    void latestPageIsTheNewestMessagesNewestFirst() {
+        List<ChatMessage> page = chatMessageRepository.findLatestPage(match.getId(), PageRequest.of(0, 3));
+
+        assertThat(contents(page)).containsExactly("message 9", "message 8", "message 7");
+    }
+
+    @Test
+    void pageBeforeACursorContinuesAcrossEqualTimestamps() {
+        ChatMessage cursor = history.get(7);
+
+        List<ChatMessage> page = chatMessageRepository.findPageBefore(match.getId(),
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 3));
+
+        assertThat(contents(page)).containsExactly("message 6", "message 5", "message 4");
+    }
+
+    @Test
+    void pageAfterACursorContinuesAcrossEqualTimestamps() {
+        ChatMessage cursor = history.get(2);
+
+        List<ChatMessage> page = chatMessageRepository.findPageAfter(match.getId(),
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, 3));
+
+        assertThat(contents(page)).containsExactly("message 3", "message 4", "message 5");
+    }
+
+    @Test
+    void pagingBackwardsVisitsEveryMessageOnce() {
+        List<String> seen = new ArrayList<>();
+        List<ChatMessage> page = chatMessageRepository.findLatestPage(match.getId(), PageRequest.of(0, 4));
+        while (!page.isEmpty()) {
+            seen.addAll(contents(page));
+            ChatMessage oldest = page.get(page.size() - 1);
+            page = chatMessageRepository.findPageBefore(match.getId(),
+                    oldest.getCreatedAt(), oldest.getId(), PageRequest.of(0, 4));
+        }
+
+        List<String> newestFirst = new ArrayList<>(contents(history));
+        Collections.reverse(newestFirst);
+        assertThat(seen).containsExactlyElementsOf(newestFirst);
+    }
+
+    @Test
+    void markReadCountsOnlyTheOtherParticipantsUnreadMessages() {
+        message(null, "✅ Viewing Confirmed", start.plusMinutes(9));
+        jdbcTemplate.update("UPDATE chat_messages SET is_read = TRUE WHERE id = ?", history.get(1).getId());
+
+        // Landlord sent 1, 3, 5, 7, 9; 1 was already read
+        assertThat(chatMessageRepository.markReadForRecipient(match.getId(), "tenant")).isEqualTo(4);
+        assertThat(chatMessageRepository.markReadForRecipient(match.getId(), "tenant")).isZero();
+
+        assertThat(unreadContents()).containsExactlyInAnyOrder(
+                "message 0", "message 2", "message 4", "message 6", "message 8", "✅ Viewing Confirmed", "elsewhere");
+    }
+
+    private ChatMessage message(User sender, String content, LocalDateTime createdAt) {
+        return message(match, sender, content, createdAt);
+    }
+
+    private ChatMessage message(Match chat, User sender, String content, LocalDateTime createdAt) {
+        ChatMessage message = entityManager.persistFlushFind(ChatMessage.builder()
+                .match(chat)
+                .sender(sender)
+                .type(MessageType.TEXT)
+                .content(content)
+                .build());
+        jdbcTemplate.update("UPDATE chat_messages SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(createdAt), message.getId());
+        message.setCreatedAt(createdAt);
+        return message;
+    }
+
+    private List<String> unreadContents() {
+        return jdbcTemplate.queryForList("SELECT content FROM chat_messages WHERE is_read = FALSE", String.class);
+    }
+
+    private static List<String> contents(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getContent).toList();
+    }
+}
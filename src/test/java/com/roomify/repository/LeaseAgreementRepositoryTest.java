@@ -0,0 +1,48 @@
+package com.roomify.repository;
+
+import com.roomify.model.LeaseAgreement;
+import com.roomify.model.Match;
+import com.roomify.model.User;
+import com.roomify.model.enums.LeaseStatus;
+import com.roomify.model.enums.MatchStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LeaseAgreementRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private LeaseAgreementRepository leaseAgreementRepository;
+
+    @Test
+    void statusRowsAreTypedIdStatusPairsOfTheRequestedLeases() {
+        User landlord = user("landlord");
+        LeaseAgreement rejected = lease(landlord, "a", LeaseStatus.REJECTED);
+        LeaseAgreement pending = lease(landlord, "b", LeaseStatus.PENDING);
+        lease(landlord, "c", LeaseStatus.EXPIRED);
+        entityManager.flush();
+
+        List<Object[]> rows = leaseAgreementRepository.findStatusRows(List.of(rejected.getId(), pending.getId(), -1L));
+
+        assertThat(rows).extracting(row -> row[0], row -> row[1]).containsExactlyInAnyOrder(
+                tuple(rejected.getId(), LeaseStatus.REJECTED),
+                tuple(pending.getId(), LeaseStatus.PENDING));
+    }
+
+    // One lease per match
+    private LeaseAgreement lease(User landlord, String tenantId, LeaseStatus status) {
+        Match match = match(user(tenantId), property(landlord), MatchStatus.OFFER_PENDING);
+        return entityManager.persist(LeaseAgreement.builder()
+                .match(match)
+                .monthlyPrice(BigDecimal.valueOf(900))
+                .startDate(LocalDate.of(2026, 4, 1))
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.roomify.repository;
+
+import com.roomify.model.ChatMessage;
+import com.roomify.model.Match;
+import com.roomify.model.Property;
+import com.roomify.model.PropertyImage;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.model.enums.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchRepositoryTest extends PostgresRepositoryTest {
+
+    private static final List<String> INBOX = List.of(MatchStatus.MATCHED.name(), MatchStatus.OFFER_PENDING.name());
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private User landlord;
+    private User tenant;
+    private Match chatting;
+    private Match quiet;
+    private Match older;
+
+    @BeforeEach
+    void setUp() {
+        landlord = user("landlord");
+        tenant = user("tenant");
+        Property flat = property(landlord);
+        image(flat, "second.jpg", 2);
+        image(flat, "cover.jpg", 1);
+        Property house = property(landlord);
+
+        chatting = match(tenant, flat, MatchStatus.OFFER_PENDING);
+        quiet = match(user("newcomer"), house, MatchStatus.MATCHED);
+        match(user("liker"), flat, MatchStatus.TENANT_LIKED);
+        older = match(tenant, house, MatchStatus.MATCHED);
+        entityManager.flush();
+
+        message(chatting, tenant, "hi", true, start.plusMinutes(1));
+        message(chatting, landlord, "hello", false, start.plusMinutes(2));
+        message(chatting, tenant, "when can I visit?", false, start.plusMinutes(3));
+        message(chatting, tenant, "tomorrow?", false, start.plusMinutes(4));
+        message(chatting, null, "📅 Viewing Proposal", false, start.plusMinutes(4));
+        updatedAt(chatting, start.plusMinutes(4));
+        updatedAt(quiet, start.plusMinutes(10));
+        updatedAt(older, start);
+    }
+
+    @Test
+    void landlordInboxHasOneRowPerConversationNewestFirst() {
+        List<Object[]> rows = matchRepository.findLandlordConversationRows("landlord", INBOX);
+
+        assertThat(rows).extracting(row -> ((Number) row[0]).longValue())
+                .containsExactly(quiet.getId(), chatting.getId(), older.getId());
+    }
+
+    @Test
+    void rowCarriesTheLastMessageCoverImageAndUnreadCount() {
+        Object[] row = rowOf(matchRepository.findLandlordConversationRows("landlord", INBOX), chatting);
+
+        assertThat(row[1]).isEqualTo("OFFER_PENDING");
+        assertThat(row[5]).isEqualTo("tenant");
+        assertThat(row[8]).isEqualTo("Name of landlord");
+        assertThat(row[11]).isEqualTo("cover.jpg");
+        // Same timestamp: the later id wins
+        assertThat(row[12]).isEqualTo("📅 Viewing Proposal");
+        assertThat(row[13]).isEqualTo(start.plusMinutes(4));
+        // Unread from the tenant; the landlord's own message and system messages are not counted
+        assertThat(((Number) row[14]).longValue()).isEqualTo(2);
+    }
+
+    @Test
+    void conversationWithoutMessagesHasNoLastMessage() {
+        Object[] row = rowOf(matchRepository.findLandlordConversationRows("landlord", INBOX), quiet);
+
+        assertThat(row[11]).isNull();
+        assertThat(row[12]).isNull();
+        assertThat(row[13]).isNull();
+        assertThat(((Number) row[14]).longValue()).isZero();
+    }
+
+    @Test
+    void tenantInboxCountsWhatTheLandlordSent() {
+        List<Object[]> rows = matchRepository.findTenantConversationRows("tenant", INBOX);
+
+        assertThat(rows).hasSize(2);
+        assertThat(((Number) rowOf(rows, chatting)[14]).longValue()).isEqualTo(1);
+    }
+
+    private static Object[] rowOf(List<Object[]> rows, Match match) {
+        return rows.stream()
+                .filter(row -> ((Number) row[0]).longValue() == match.getId())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void image(Property property, String url, int order) {
+        entityManager.persist(PropertyImage.builder().property(property).url(url).orderIndex(order).build());
+    }
+
+    private void message(Match match, User sender, String content, boolean read, LocalDateTime createdAt) {
+        ChatMessage message = entityManager.persistFlushFind(ChatMessage.builder()
+                .match(match)
+                .sender(sender)
+                .type(sender == null ? MessageType.SYSTEM : MessageType.TEXT)
+                .content(content)
+                .isRead(read)
+                .build());
+        jdbcTemplate.update("UPDATE chat_messages SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(createdAt), message.getId());
+    }
+
+    private void updatedAt(Match match, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE matches SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(updatedAt), match.getId());
+    }
+}
@@ -0,0 +1,91 @@
+package com.roomify.repository;
+
+import com.roomify.model.Match;
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Base for tests of native SQL: a JPA slice against a real Postgres, started
+ * in-process once per test run. The schema is the one Hibernate generates
+ * from the entities; tests that need a migration-only table load its script
+ * with {@code @Sql}. Each test runs in a transaction that is rolled back.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public abstract class PostgresRepositoryTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    protected TestEntityManager entityManager;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded Postgres", e);
+        }
+    }
+
+    protected User user(String id) {
+        return entityManager.persist(User.builder().id(id).firstName("Name of " + id).build());
+    }
+
+    protected Property property(User owner) {
+        return entityManager.persist(Property.builder()
+                .owner(owner)
+                .title("Flat of " + owner.getId())
+                .price(BigDecimal.valueOf(500))
+                .surface(50.0)
+                .address("Street 1")
+                .numberOfRooms(2)
+                .hasExtraBathroom(false)
+                .build());
+    }
+
+    protected Match match(User tenant, Property property, MatchStatus status) {
+        return entityManager.persist(Match.builder()
+                .tenant(tenant)
+                .landlord(property.getOwner())
+                .property(property)
+                .status(status)
+                .build());
+    }
+
+    /**
+     * Backdate a match; created_at is otherwise set by Hibernate on insert.
+     */
+    protected void createdAt(Match match, LocalDateTime createdAt) {
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE matches SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(createdAt), match.getId());
+    }
+}
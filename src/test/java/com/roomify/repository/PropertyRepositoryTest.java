@@ -0,0 +1,83 @@
+package com.roomify.repository;
+
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Test
+    void newPropertyStartsWithNoInterest() {
+        Property property = property(user("landlord"));
+        entityManager.flush();
+
+        assertThat(interestedCount(property)).isZero();
+    }
+
+    @Test
+    void adjustInterestedCountAddsTheDelta() {
+        Property property = property(user("landlord"));
+        entityManager.flush();
+
+        propertyRepository.adjustInterestedCount(property.getId(), 1);
+        propertyRepository.adjustInterestedCount(property.getId(), 1);
+        propertyRepository.adjustInterestedCount(property.getId(), -1);
+
+        assertThat(interestedCount(property)).isEqualTo(1);
+    }
+
+    @Test
+    void deletedTenantDropsOnlyTheirLikes() {
+        User landlord = user("landlord");
+        Property liked = property(landlord);
+        Property matched = property(landlord);
+        User tenant = user("tenant");
+        match(tenant, liked, MatchStatus.TENANT_LIKED);
+        match(tenant, matched, MatchStatus.MATCHED);
+        match(user("other"), liked, MatchStatus.TENANT_LIKED);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE properties SET interested_count = 2 WHERE id = ?", liked.getId());
+
+        int updated = propertyRepository.decrementInterestedCountsForTenant("tenant");
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(interestedCount(liked)).isEqualTo(1);
+        assertThat(interestedCount(matched)).isZero();
+    }
+
+    @Test
+    void reconcileFixesOnlyDriftedCounters() {
+        User landlord = user("landlord");
+        Property drifted = property(landlord);
+        Property consistent = property(landlord);
+        Property orphaned = property(landlord);
+        for (int i = 0; i < 3; i++) {
+            match(user("tenant-" + i), drifted, MatchStatus.TENANT_LIKED);
+        }
+        match(user("matched"), drifted, MatchStatus.MATCHED);
+        match(user("liker"), consistent, MatchStatus.TENANT_LIKED);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE properties SET interested_count = 1 WHERE id IN (?, ?)",
+                drifted.getId(), consistent.getId());
+        jdbcTemplate.update("UPDATE properties SET interested_count = 4 WHERE id = ?", orphaned.getId());
+
+        assertThat(propertyRepository.reconcileInterestedCounts()).isEqualTo(2);
+        assertThat(interestedCount(drifted)).isEqualTo(3);
+        assertThat(interestedCount(consistent)).isEqualTo(1);
+        assertThat(interestedCount(orphaned)).isZero();
+
+        assertThat(propertyRepository.reconcileInterestedCounts()).isZero();
+    }
+
+    private int interestedCount(Property property) {
+        return jdbcTemplate.queryForObject("SELECT interested_count FROM properties WHERE id = ?",
+                Integer.class, property.getId());
+    }
+}
@@ -0,0 +1,101 @@
+package com.roomify.scheduled;
+
+import com.roomify.model.Match;
+import com.roomify.model.Property;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.repository.PostgresRepositoryTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql("/db/migration/V3__property_stats_hourly.sql")
+class PropertyStatsRollupTaskTest extends PostgresRepositoryTest {
+
+    private PropertyStatsRollupTask task;
+    private LocalDateTime currentHour;
+    private Property property;
+    private int likers;
+
+    @BeforeEach
+    void setUp() {
+        task = new PropertyStatsRollupTask(jdbcTemplate);
+        currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        property = property(user("landlord"));
+        entityManager.flush();
+    }
+
+    @Test
+    void rollsUpEachCompletedHourPerProperty() {
+        LocalDateTime twoHoursAgo = currentHour.minusHours(2);
+        view("a", twoHoursAgo.plusMinutes(5));
+        view("a", twoHoursAgo.plusMinutes(10));
+        view("b", twoHoursAgo.plusMinutes(59));
+        view("a", currentHour.minusHours(1));
+        view("c", currentHour.plusMinutes(1)); // current hour: not complete yet
+        like(MatchStatus.TENANT_LIKED, twoHoursAgo.plusMinutes(30));
+        like(MatchStatus.MATCHED, currentHour.minusMinutes(1));
+        like(MatchStatus.TENANT_DECLINED, currentHour.minusMinutes(1));
+
+        task.rollUp();
+
+        // Views and likes of the same hour end up in one bucket
+        assertThat(buckets()).containsExactly(
+                bucket(twoHoursAgo, 3, 2, 1),
+                bucket(currentHour.minusHours(1), 1, 1, 1));
+    }
+
+    @Test
+    void firstRunGoesBackOnlyAsFarAsRawViewsAreKept() {
+        view("a", currentHour.minusDays(7).minusHours(1));
+        view("a", currentHour.minusDays(7));
+
+        task.rollUp();
+
+        assertThat(buckets()).containsExactly(bucket(currentHour.minusDays(7), 1, 1, 0));
+    }
+
+    @Test
+    void resumesAfterTheLastRolledUpHour() {
+        LocalDateTime twoHoursAgo = currentHour.minusHours(2);
+        jdbcTemplate.update("INSERT INTO property_stats_hourly (property_id, bucket_start, views, unique_viewers, likes) "
+                + "VALUES (?, ?, 99, 99, 99)", property.getId(), Timestamp.valueOf(twoHoursAgo));
+        view("a", twoHoursAgo.plusMinutes(5));
+        view("a", currentHour.minusMinutes(30));
+
+        task.rollUp();
+        view("b", currentHour.minusMinutes(20));
+        task.rollUp(); // same hour: nothing left to roll up
+
+        assertThat(buckets()).containsExactly(
+                bucket(twoHoursAgo, 99, 99, 99),
+                bucket(currentHour.minusHours(1), 1, 1, 0));
+    }
+
+    private void view(String viewerId, LocalDateTime viewedAt) {
+        jdbcTemplate.update("INSERT INTO property_views (property_id, viewer_id, viewed_at) VALUES (?, ?, ?)",
+                property.getId(), viewerId, Timestamp.valueOf(viewedAt));
+    }
+
+    private void like(MatchStatus status, LocalDateTime createdAt) {
+        Match match = match(user("liker-" + likers++), property, status);
+        createdAt(match, createdAt);
+    }
+
+    private List<Map<String, Object>> buckets() {
+        return jdbcTemplate.queryForList("SELECT bucket_start, views, unique_viewers, likes "
+                + "FROM property_stats_hourly WHERE property_id = ? ORDER BY bucket_start", property.getId());
+    }
+
+    private static Map<String, Object> bucket(LocalDateTime start, long views, long uniqueViewers, long likes) {
+        return Map.of("bucket_start", Timestamp.valueOf(start), "views", views,
+                "unique_viewers", uniqueViewers, "likes", likes);
+    }
+}
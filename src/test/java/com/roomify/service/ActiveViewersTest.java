@@ -0,0 +1,138 @@
+package com.roomify.service;
+
+import com.roomify.repository.PropertyViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ActiveViewersTest {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private PropertyViewRepository propertyViewRepository;
+    private ActiveViewers viewers;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        propertyViewRepository = mock(PropertyViewRepository.class);
+        viewers = new ActiveViewers(propertyViewRepository);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void countsDistinctViewersInTheWindow() {
+        viewers.record(1L, "a", now - 20 * MINUTE_MILLIS);
+        viewers.record(1L, "b", now - 10 * MINUTE_MILLIS);
+        viewers.record(1L, "b", now - MINUTE_MILLIS);
+        viewers.record(1L, "c", now);
+
+        assertThat(viewers.count(1L)).isEqualTo(2);
+        assertThat(viewers.count(2L)).isZero();
+    }
+
+    @Test
+    void viewingAgainKeepsTheViewerInTheWindow() {
+        viewers.record(1L, "a", now - 14 * MINUTE_MILLIS);
+        viewers.record(1L, "b", now - 13 * MINUTE_MILLIS);
+        // a moves behind b
+        viewers.record(1L, "a", now - MINUTE_MILLIS);
+        assertThat(viewers.count(1L)).isEqualTo(2);
+
+        // Three minutes later b has expired, a has not
+        viewers.record(1L, "c", now + 3 * MINUTE_MILLIS);
+        assertThat(viewers.count(1L)).isEqualTo(2);
+
+        viewers.forget(1L);
+        assertThat(viewers.count(1L)).isZero();
+    }
+
+    @Test
+    void expiredHeadIsTrimmedOnRecord() {
+        viewers.record(1L, "a", now - 30 * MINUTE_MILLIS);
+        viewers.record(1L, "b", now - 29 * MINUTE_MILLIS);
+        viewers.record(1L, "c", now);
+
+        assertThat(viewers.count(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void propertiesSharingAStripeAreCountedApart() {
+        // 64 stripes: 5, 69 and 133 hash to the same one
+        viewers.record(5L, "a", now);
+        viewers.record(69L, "a", now);
+        viewers.record(69L, "b", now);
+        viewers.record(133L, "c", now - 16 * MINUTE_MILLIS);
+
+        assertThat(viewers.count(5L)).isEqualTo(1);
+        assertThat(viewers.count(69L)).isEqualTo(2);
+        assertThat(viewers.count(133L)).isZero();
+
+        viewers.forget(69L);
+        assertThat(viewers.count(5L)).isEqualTo(1);
+        assertThat(viewers.count(69L)).isZero();
+    }
+
+    @Test
+    void concurrentViewsAreAllCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                done.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        // Each thread shows every property to 5 viewers of its own, some of them repeatedly
+                        viewers.record(i % 128, "viewer-" + thread + "-" + (i / 128) % 5, now);
+                    }
+                }));
+            }
+            for (Future<?> f : done) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (long propertyId = 0; propertyId < 128; propertyId++) {
+            assertThat(viewers.count(propertyId)).as("property %d", propertyId).isEqualTo(40);
+        }
+    }
+
+    @Test
+    void warmUpSeedsFromUnorderedRows() {
+        LocalDateTime ts = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "a", ts.minusMinutes(1) });
+        rows.add(new Object[] { 1L, "b", ts.minusMinutes(14) });
+        rows.add(new Object[] { 2L, "c", ts.minusMinutes(5) });
+        when(propertyViewRepository.findLastViewsSince(any())).thenReturn(rows);
+
+        viewers.warmUp();
+
+        assertThat(viewers.count(1L)).isEqualTo(2);
+        assertThat(viewers.count(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void sweepDropsPropertiesWithoutRecentViewers() {
+        viewers.record(1L, "a", now - 16 * MINUTE_MILLIS);
+        viewers.record(2L, "b", now);
+
+        viewers.sweep();
+
+        assertThat(viewers.count(1L)).isZero();
+        assertThat(viewers.count(2L)).isEqualTo(1);
+    }
+}
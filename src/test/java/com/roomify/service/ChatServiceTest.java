@@ -0,0 +1,246 @@
+package com.roomify.service;
+
+import com.roomify.model.ChatMessage;
+import com.roomify.model.LeaseAgreement;
+import com.roomify.model.Match;
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import com.roomify.model.enums.Currency;
+import com.roomify.model.enums.LeaseStatus;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.model.enums.MessageType;
+import com.roomify.repository.ChatMessageRepository;
+import com.roomify.repository.LeaseAgreementRepository;
+import com.roomify.repository.MatchRepository;
+import com.roomify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ChatServiceTest {
+
+    private static final long MATCH_ID = 7L;
+
+    private MatchRepository matchRepository;
+    private ChatMessageRepository chatMessageRepository;
+    private LeaseAgreementRepository leaseAgreementRepository;
+    private ChatEventPublisher chatEventPublisher;
+    private ChatService chatService;
+
+    private User tenant;
+    private User landlord;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        leaseAgreementRepository = mock(LeaseAgreementRepository.class);
+        chatEventPublisher = mock(ChatEventPublisher.class);
+        chatService = new ChatService(matchRepository, chatMessageRepository, userRepository,
+                leaseAgreementRepository, mock(FeedCache.class), mock(TenantFeedCache.class), chatEventPublisher);
+
+        tenant = User.builder().id("tenant").firstName("Tina").build();
+        landlord = User.builder().id("landlord").firstName("Luca").build();
+        match = Match.builder().id(MATCH_ID).tenant(tenant).landlord(landlord)
+                .property(Property.builder().id(3L).build()).build();
+        when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+        when(userRepository.findById("landlord")).thenReturn(Optional.of(landlord));
+    }
+
+    @Test
+    void rentProposalLoadsTheLeaseStatusOnceForAllViews() {
+        match.setStatus(MatchStatus.VIEWING_SCHEDULED);
+        when(leaseAgreementRepository.save(any())).thenAnswer(invocation -> {
+            LeaseAgreement lease = invocation.getArgument(0);
+            lease.setId(42L);
+            return lease;
+        });
+        when(chatMessageRepository.save(any())).thenAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            message.setId(100L);
+            message.setCreatedAt(LocalDateTime.now());
+            return message;
+        });
+        when(leaseAgreementRepository.findStatusRows(anyCollection()))
+                .thenReturn(statusRows(42L, LeaseStatus.PENDING));
+
+        Map<String, Object> returned = chatService.sendRentProposal(MATCH_ID, "landlord",
+                BigDecimal.valueOf(900), LocalDate.now().plusMonths(1), Currency.EUR);
+
+        verify(leaseAgreementRepository, times(1)).findStatusRows(anyCollection());
+        ArgumentCaptor<Map<String, Object>> tenantView = viewCaptor();
+        ArgumentCaptor<Map<String, Object>> landlordView = viewCaptor();
+        verify(chatEventPublisher).messageCreatedAfterCommit(eq(MATCH_ID),
+                eq("tenant"), tenantView.capture(), eq("landlord"), landlordView.capture());
+
+        for (Map<String, Object> view : List.of(returned, tenantView.getValue(), landlordView.getValue())) {
+            assertThat((String) view.get("metadata")).contains("\"leaseStatus\":\"PENDING\"");
+        }
+        assertThat(returned.get("sender")).isEqualTo("me");
+        assertThat(tenantView.getValue().get("sender")).isEqualTo("other");
+        assertThat(landlordView.getValue().get("sender")).isEqualTo("me");
+    }
+
+    @Test
+    void historyLoadsTheStatusesOfAllProposalsInOneQuery() {
+        List<ChatMessage> messages = List.of(
+                proposal(1L, 10L),
+                message(2L, MessageType.TEXT, "hi", null),
+                proposal(3L, 11L),
+                message(4L, MessageType.ACTION_CARD, "📅 Viewing Proposal", "{\"action\":\"VIEWING_PROPOSAL\"}"));
+        when(chatMessageRepository.findByMatchIdOrderByCreatedAtAsc(MATCH_ID)).thenReturn(messages);
+        List<Object[]> rows = statusRows(10L, LeaseStatus.REJECTED);
+        rows.addAll(statusRows(11L, LeaseStatus.PENDING));
+        when(leaseAgreementRepository.findStatusRows(anyCollection())).thenReturn(rows);
+
+        List<Map<String, Object>> dtos = chatService.getChatMessages(MATCH_ID, "tenant");
+
+        verify(leaseAgreementRepository, times(1)).findStatusRows(anyCollection());
+        assertThat((String) dtos.get(0).get("metadata")).contains("\"leaseStatus\":\"REJECTED\"");
+        assertThat(dtos.get(1).get("metadata")).isNull();
+        assertThat((String) dtos.get(2).get("metadata")).contains("\"leaseStatus\":\"PENDING\"");
+        assertThat(dtos.get(3).get("metadata")).isEqualTo("{\"action\":\"VIEWING_PROPOSAL\"}");
+    }
+
+    @Test
+    void historyWithoutProposalsSkipsTheStatusQuery() {
+        when(chatMessageRepository.findByMatchIdOrderByCreatedAtAsc(MATCH_ID))
+                .thenReturn(List.of(message(1L, MessageType.TEXT, "hi", null)));
+
+        chatService.getChatMessages(MATCH_ID, "tenant");
+
+        verify(leaseAgreementRepository, times(0)).findStatusRows(anyCollection());
+    }
+
+    @Test
+    void latestPageIsReturnedOldestFirst() {
+        when(chatMessageRepository.findLatestPage(eq(MATCH_ID), any()))
+                .thenReturn(List.of(text(3L), text(2L), text(1L)));
+
+        List<Map<String, Object>> page = chatService.getChatMessages(MATCH_ID, "tenant", null, null, null);
+
+        assertThat(page).extracting(dto -> dto.get("id")).containsExactly("1", "2", "3");
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(chatMessageRepository).findLatestPage(eq(MATCH_ID), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(50);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        when(chatMessageRepository.findLatestPage(eq(MATCH_ID), any())).thenReturn(List.of());
+
+        chatService.getChatMessages(MATCH_ID, "tenant", null, null, 1_000);
+        chatService.getChatMessages(MATCH_ID, "tenant", null, null, 0);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(chatMessageRepository, times(2)).findLatestPage(eq(MATCH_ID), pageable.capture());
+        assertThat(pageable.getAllValues()).extracting(Pageable::getPageSize).containsExactly(100, 1);
+    }
+
+    @Test
+    void beforeCursorPagesBackFromThatMessage() {
+        ChatMessage cursor = text(5L);
+        when(chatMessageRepository.findById(5L)).thenReturn(Optional.of(cursor));
+        when(chatMessageRepository.findPageBefore(eq(MATCH_ID), eq(cursor.getCreatedAt()), eq(5L), any()))
+                .thenReturn(List.of(text(4L), text(3L)));
+
+        List<Map<String, Object>> page = chatService.getChatMessages(MATCH_ID, "tenant", 5L, null, 2);
+
+        assertThat(page).extracting(dto -> dto.get("id")).containsExactly("3", "4");
+    }
+
+    @Test
+    void afterCursorReturnsTheNewerMessagesInOrder() {
+        ChatMessage cursor = text(5L);
+        when(chatMessageRepository.findById(5L)).thenReturn(Optional.of(cursor));
+        when(chatMessageRepository.findPageAfter(eq(MATCH_ID), eq(cursor.getCreatedAt()), eq(5L), any()))
+                .thenReturn(List.of(text(6L), text(7L)));
+
+        List<Map<String, Object>> page = chatService.getChatMessages(MATCH_ID, "tenant", null, 5L, null);
+
+        assertThat(page).extracting(dto -> dto.get("id")).containsExactly("6", "7");
+    }
+
+    @Test
+    void beforeAndAfterTogetherAreRejected() {
+        assertThatThrownBy(() -> chatService.getChatMessages(MATCH_ID, "tenant", 5L, 1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorFromAnotherChatIsRejected() {
+        ChatMessage elsewhere = text(5L);
+        elsewhere.setMatch(Match.builder().id(MATCH_ID + 1).build());
+        when(chatMessageRepository.findById(5L)).thenReturn(Optional.of(elsewhere));
+
+        assertThatThrownBy(() -> chatService.getChatMessages(MATCH_ID, "tenant", 5L, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void markingReadPushesOneReceiptWithTheCount() {
+        when(chatMessageRepository.markReadForRecipient(MATCH_ID, "tenant")).thenReturn(3);
+
+        assertThat(chatService.markMessagesAsRead(MATCH_ID, "tenant")).isEqualTo(3);
+
+        verify(chatEventPublisher).messagesReadAfterCommit(MATCH_ID, "tenant", "tenant", "landlord", 3);
+        verify(chatMessageRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void nothingToMarkSendsNoReceipt() {
+        when(chatMessageRepository.markReadForRecipient(MATCH_ID, "tenant")).thenReturn(0);
+
+        assertThat(chatService.markMessagesAsRead(MATCH_ID, "tenant")).isZero();
+
+        verifyNoInteractions(chatEventPublisher);
+    }
+
+    private ChatMessage text(long id) {
+        return message(id, MessageType.TEXT, "message " + id, null);
+    }
+
+    private ChatMessage proposal(long id, long leaseId) {
+        return message(id, MessageType.ACTION_CARD, "💰 Rent Proposal",
+                "{\"action\":\"RENT_PROPOSAL\",\"leaseId\":" + leaseId + ",\"price\":900}");
+    }
+
+    private ChatMessage message(long id, MessageType type, String content, String metadata) {
+        return ChatMessage.builder().id(id).match(match).sender(landlord).type(type).content(content)
+                .metadata(metadata).createdAt(LocalDateTime.now()).build();
+    }
+
+    private static List<Object[]> statusRows(long leaseId, LeaseStatus status) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { leaseId, status });
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, Object>> viewCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.enums.LayoutType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedCacheTest {
+
+    private FeedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FeedCache(100);
+    }
+
+    @Test
+    void swipeDropsOnlyTheSwipingTenantsRanking() {
+        cache.put("cached", new long[] { 1, 2 }, null, cache.stamp("cached"));
+
+        // Two rankings in flight; one of the tenants swipes before they are stored
+        long a = cache.stamp("a");
+        long b = cache.stamp("b");
+        cache.invalidate("b");
+        FeedCache.Snapshot ranked = cache.put("a", new long[] { 1, 2, 3 }, null, a);
+        FeedCache.Snapshot stale = cache.put("b", new long[] { 3, 2, 1 }, null, b);
+
+        assertThat(cache.get("a")).isSameAs(ranked);
+        assertThat(cache.get("cached")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        // Still there for cursors issued on it
+        assertThat(cache.get("b", stale.id())).isSameAs(stale);
+    }
+
+    @Test
+    void newerRankingOfTheSameTenantWins() {
+        long first = cache.stamp("a");
+        long second = cache.stamp("a");
+
+        cache.put("a", new long[] { 1 }, null, first);
+        assertThat(cache.get("a")).isNull();
+        cache.put("a", new long[] { 2 }, null, second);
+        assertThat(cache.get("a").rankedIds()).containsExactly(2);
+    }
+
+    @Test
+    void listingChangeDropsOnlyTheRankingsItCanReach() {
+        cache.put("cheap", new long[] { 10, 11 }, filter("cheap", null, 500), cache.stamp("cheap"));
+        cache.put("pricey", new long[] { 20 }, filter("pricey", 1000, null), cache.stamp("pricey"));
+        cache.put("anything", new long[] { 30 }, filter("anything", null, null), cache.stamp("anything"));
+
+        // New listing at 700: passes only the filter without a price range
+        cache.invalidateListing(listing(99, "landlord", 700));
+        assertThat(cache.get("cheap")).isNotNull();
+        assertThat(cache.get("pricey")).isNotNull();
+        assertThat(cache.get("anything")).isNull();
+
+        // A listing in the cheap feed moves to 1200: it leaves that feed and can enter the pricey one
+        cache.invalidateListing(listing(11, "landlord", 1200));
+        assertThat(cache.get("cheap")).isNull();
+        assertThat(cache.get("pricey")).isNull();
+    }
+
+    @Test
+    void ownListingDoesNotReachTheOwnersFeed() {
+        cache.put("owner", new long[] { 1 }, filter("owner", null, null), cache.stamp("owner"));
+
+        cache.invalidateListing(listing(99, "owner", 700));
+
+        assertThat(cache.get("owner")).isNotNull();
+    }
+
+    @Test
+    void listingChangeDuringARankingKeepsItFromBeingCurrent() {
+        long stamp = cache.stamp("a");
+        cache.invalidateListing(listing(99, "landlord", 700));
+        cache.put("a", new long[] { 1 }, filter("a", null, 500), stamp);
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void removedPropertyDropsTheRankingsContainingIt() {
+        cache.put("a", new long[] { 1, 2 }, null, cache.stamp("a"));
+        cache.put("b", new long[] { 3 }, null, cache.stamp("b"));
+
+        cache.invalidateProperty(2);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+    }
+
+    private static PropertyIndex.Filter filter(String tenantId, Integer minPrice, Integer maxPrice) {
+        Preferences prefs = new Preferences();
+        prefs.setMinPrice(minPrice != null ? BigDecimal.valueOf(minPrice) : null);
+        prefs.setMaxPrice(maxPrice != null ? BigDecimal.valueOf(maxPrice) : null);
+        return PropertyIndex.Filter.forTenant(tenantId, prefs, null);
+    }
+
+    private static PropertyIndex.Row listing(long id, String ownerId, int price) {
+        return new PropertyIndex.Row(id, ownerId, BigDecimal.valueOf(price), 50.0, 2,
+                LayoutType.values()[0], true, true, false, 0, 44.4, 26.1);
+    }
+}
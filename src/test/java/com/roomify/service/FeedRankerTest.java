@@ -0,0 +1,67 @@
+package com.roomify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedRankerTest {
+
+    @Test
+    void kLargerThanCandidatesReturnsAllBestFirst() {
+        FeedCandidates candidates = candidates(new long[] { 1, 2, 3 }, new double[] { 10.0, 30.0, 20.0 });
+
+        assertThat(FeedRanker.topK(candidates, 10)).containsExactly(2, 3, 1);
+    }
+
+    @Test
+    void zeroOrNegativeKReturnsNothing() {
+        FeedCandidates candidates = candidates(new long[] { 1, 2 }, new double[] { 1.0, 2.0 });
+
+        assertThat(FeedRanker.topK(candidates, 0)).isEmpty();
+        assertThat(FeedRanker.topK(candidates, -1)).isEmpty();
+        assertThat(FeedRanker.topK(new FeedCandidates(), 5)).isEmpty();
+    }
+
+    @Test
+    void equalScoresKeepInsertionOrder() {
+        FeedCandidates candidates = candidates(
+                new long[] { 50, 40, 30, 20, 10, 60 },
+                new double[] { 5.0, 5.0, 9.0, 5.0, 5.0, 5.0 });
+
+        assertThat(FeedRanker.topK(candidates, 6)).containsExactly(30, 50, 40, 20, 10, 60);
+        assertThat(FeedRanker.topK(candidates, 3)).containsExactly(30, 50, 40);
+    }
+
+    @Test
+    void agreesWithStableFullSort() {
+        Random random = new Random(11);
+        int n = 5_000;
+        FeedCandidates candidates = new FeedCandidates();
+        for (int i = 0; i < n; i++) {
+            // Coarse scores so there are plenty of ties
+            candidates.add(random.nextInt(1_000_000), random.nextInt(200) / 2.0);
+        }
+
+        List<Integer> sorted = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> candidates.score(i)).reversed())
+                .toList();
+
+        for (int k : new int[] { 1, 7, 100, 2_500, n }) {
+            long[] expected = sorted.stream().limit(k).mapToLong(candidates::id).toArray();
+            assertThat(FeedRanker.topK(candidates, k)).as("k=%d", k).containsExactly(expected);
+        }
+    }
+
+    private static FeedCandidates candidates(long[] ids, double[] scores) {
+        FeedCandidates candidates = new FeedCandidates(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            candidates.add(ids[i], scores[i]);
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,114 @@
+package com.roomify.service;
+
+import com.roomify.model.Match;
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.repository.ChatMessageRepository;
+import com.roomify.repository.MatchRepository;
+import com.roomify.repository.PropertyRepository;
+import com.roomify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MatchService keeps properties.interested_count (TENANT_LIKED matches) in
+ * step with each swipe.
+ */
+class MatchServiceInterestTest {
+
+    private static final long PROPERTY_ID = 3L;
+
+    private MatchRepository matchRepository;
+    private PropertyRepository propertyRepository;
+    private MatchService matchService;
+    private User tenant;
+    private Property property;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        propertyRepository = mock(PropertyRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        matchService = new MatchService(matchRepository, propertyRepository, userRepository,
+                mock(ChatMessageRepository.class), mock(FeedCache.class), mock(TenantFeedCache.class),
+                mock(TrendingCounters.class));
+
+        tenant = User.builder().id("tenant").build();
+        User landlord = User.builder().id("landlord").build();
+        property = Property.builder().id(PROPERTY_ID).owner(landlord).build();
+        when(userRepository.findById("tenant")).thenReturn(Optional.of(tenant));
+        when(propertyRepository.findById(PROPERTY_ID)).thenReturn(Optional.of(property));
+        when(matchRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void firstLikeAddsAnInterest() {
+        when(matchRepository.findByTenantAndProperty(tenant, property)).thenReturn(Optional.empty());
+
+        matchService.swipeByTenant("tenant", PROPERTY_ID);
+
+        verify(propertyRepository).adjustInterestedCount(PROPERTY_ID, 1);
+    }
+
+    @Test
+    void likingAgainKeepsTheCount() {
+        existing(MatchStatus.TENANT_LIKED);
+
+        matchService.swipeByTenant("tenant", PROPERTY_ID);
+
+        verify(propertyRepository, never()).adjustInterestedCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void passAfterALikeRemovesTheInterest() {
+        existing(MatchStatus.TENANT_LIKED);
+
+        matchService.passByTenant("tenant", PROPERTY_ID);
+
+        verify(propertyRepository).adjustInterestedCount(PROPERTY_ID, -1);
+    }
+
+    @Test
+    void matchingALikeRemovesTheInterest() {
+        existing(MatchStatus.TENANT_LIKED);
+
+        matchService.inviteTenant("landlord", "tenant", PROPERTY_ID);
+
+        verify(propertyRepository).adjustInterestedCount(PROPERTY_ID, -1);
+    }
+
+    @Test
+    void likeThatCompletesAMatchIsNoInterest() {
+        existing(MatchStatus.LANDLORD_LIKED);
+
+        matchService.swipeByTenant("tenant", PROPERTY_ID);
+
+        verify(propertyRepository, never()).adjustInterestedCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void likeAfterAPassAddsAnInterest() {
+        existing(MatchStatus.TENANT_DECLINED);
+
+        matchService.swipeByTenant("tenant", PROPERTY_ID);
+
+        verify(propertyRepository).adjustInterestedCount(PROPERTY_ID, 1);
+    }
+
+    private void existing(MatchStatus status) {
+        Match match = Match.builder().tenant(tenant).landlord(property.getOwner()).property(property)
+                .status(status).score(0.0).build();
+        when(matchRepository.findByTenantAndProperty(tenant, property)).thenReturn(Optional.of(match));
+    }
+}
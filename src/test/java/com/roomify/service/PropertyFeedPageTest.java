@@ -0,0 +1,164 @@
+package com.roomify.service;
+
+import com.roomify.controller.PropertyController;
+import com.roomify.dto.PropertyFeedPage;
+import com.roomify.dto.PropertyFeedResponse;
+import com.roomify.model.User;
+import com.roomify.model.enums.LayoutType;
+import com.roomify.repository.ChatMessageRepository;
+import com.roomify.repository.MatchRepository;
+import com.roomify.repository.PreferencesRepository;
+import com.roomify.repository.PropertyRepository;
+import com.roomify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cursor paging of the tenant feed over FeedCache snapshots.
+ */
+class PropertyFeedPageTest {
+
+    private static final String TENANT = "tenant";
+    private static final int PROPERTIES = 25;
+
+    private PropertyIndex propertyIndex;
+    private FeedCache feedCache;
+    private PropertyService propertyService;
+
+    @BeforeEach
+    void setUp() {
+        PropertyRepository propertyRepository = mock(PropertyRepository.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= PROPERTIES; id++) {
+            rows.add(new Object[] { id, "landlord", BigDecimal.valueOf(400 + id), 50.0, 1 + (int) (id % 3),
+                    LayoutType.values()[0], true, true, id % 2 == 0, 44.4, 26.1 });
+        }
+        when(propertyRepository.findIndexRows()).thenReturn(rows);
+        when(propertyRepository.findPreferredTenantRows()).thenReturn(List.of());
+
+        propertyIndex = new PropertyIndex(propertyRepository, mock(RentedProperties.class));
+        propertyIndex.rebuild();
+        feedCache = new FeedCache(100);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(TENANT)).thenReturn(Optional.of(User.builder().id(TENANT).build()));
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        when(matchRepository.findAllByTenant_Id(anyString())).thenReturn(List.of());
+        PreferencesRepository preferencesRepository = mock(PreferencesRepository.class);
+        when(preferencesRepository.findByUserId(anyString())).thenReturn(Optional.empty());
+
+        PropertyFeedReader propertyFeedReader = mock(PropertyFeedReader.class);
+        when(propertyFeedReader.load(any())).thenAnswer(invocation -> {
+            List<PropertyFeedResponse> cards = new ArrayList<>();
+            for (long id : (long[]) invocation.getArgument(0)) {
+                PropertyFeedResponse card = new PropertyFeedResponse();
+                card.setId(id);
+                cards.add(card);
+            }
+            return cards;
+        });
+
+        propertyService = new PropertyService(propertyRepository, matchRepository,
+                mock(ChatMessageRepository.class), userRepository, preferencesRepository,
+                new PreferencesService(), mock(GeocodingService.class), mock(PropertyViewRecorder.class),
+                propertyIndex, feedCache, propertyFeedReader, mock(RentedProperties.class),
+                mock(TenantFeedCache.class), mock(ActiveViewers.class), mock(TrendingCounters.class),
+                null, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void cursorsWalkTheWholeRankingOnce() {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            PropertyFeedPage page = propertyService.getFeedPage(TENANT, 10, cursor);
+            pageSizes.add(page.getItems().size());
+            page.getItems().forEach(card -> seen.add(card.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+        assertThat(seen).containsExactlyElementsOf(ranking());
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        String garbage = "not a cursor!";
+        String noSeparator = encode("12345");
+        String negativeOffset = encode(currentSnapshotId() + ":-10");
+
+        for (String cursor : List.of(garbage, noSeparator, negativeOffset)) {
+            assertThatThrownBy(() -> propertyService.getFeedPage(TENANT, 10, cursor))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid feed cursor.");
+        }
+
+        PropertyController controller = new PropertyController(propertyService, null);
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(TENANT).build();
+        ResponseEntity<?> response = controller.getFeed(jwt, 10, garbage);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void cursorKeepsItsSnapshotAfterTheRankingChanges() {
+        PropertyFeedPage first = propertyService.getFeedPage(TENANT, 10, null);
+        List<Long> original = ranking();
+        long originalSnapshot = currentSnapshotId();
+
+        // A swipe invalidates the ranking and a property on the next page gets rented
+        feedCache.invalidate(TENANT);
+        long rented = original.get(12);
+        propertyIndex.remove(rented);
+
+        PropertyFeedPage second = propertyService.getFeedPage(TENANT, 10, first.getNextCursor());
+        List<Long> expected = new ArrayList<>(original.subList(10, 20));
+        expected.remove(rented);
+        assertThat(second.getItems()).extracting(PropertyFeedResponse::getId).containsExactlyElementsOf(expected);
+
+        // A new first page ranks again, and the old snapshot's cursors start over on it
+        PropertyFeedPage restarted = propertyService.getFeedPage(TENANT, 10, null);
+        assertThat(currentSnapshotId()).isNotEqualTo(originalSnapshot);
+        assertThat(ranking()).hasSize(PROPERTIES - 1).doesNotContain(rented);
+        assertThat(restarted.getItems()).extracting(PropertyFeedResponse::getId)
+                .containsExactlyElementsOf(ranking().subList(0, 10));
+
+        PropertyFeedPage stale = propertyService.getFeedPage(TENANT, 10, second.getNextCursor());
+        assertThat(stale.getItems()).extracting(PropertyFeedResponse::getId)
+                .containsExactlyElementsOf(ranking().subList(0, 10));
+    }
+
+    private List<Long> ranking() {
+        return Arrays.stream(feedCache.get(TENANT).rankedIds()).boxed().toList();
+    }
+
+    private long currentSnapshotId() {
+        if (feedCache.get(TENANT) == null) {
+            propertyService.getFeedPage(TENANT, 1, null);
+        }
+        return feedCache.get(TENANT).id();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.enums.LayoutType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Removal compacts the slot columns by moving the last slot into the freed
+ * one; the grid cells and the id-to-slot map have to follow the move.
+ */
+class PropertyIndexRemoveTest {
+
+    private static final int PROPERTIES = 30;
+
+    private PropertyIndex index;
+    private final Map<Long, double[]> locations = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new PropertyIndex(null, null);
+        for (long id = 1; id <= PROPERTIES; id++) {
+            // Three properties per grid cell, a few cells apart, and one without coordinates
+            double lat = id == 17 ? Double.NaN : 44.40 + (id % 10) * 0.1 + 0.01 * (id / 10);
+            double lon = id == 17 ? Double.NaN : 26.05 + (id % 10) * 0.1;
+            upsert(id, lat, lon);
+        }
+    }
+
+    @Test
+    void removeFirstSlot() {
+        assertRemoveKeepsIndexConsistent(1L);
+    }
+
+    @Test
+    void removeMiddleSlot() {
+        assertRemoveKeepsIndexConsistent(PROPERTIES / 2);
+        assertRemoveKeepsIndexConsistent(17L); // no grid cell
+    }
+
+    @Test
+    void removeLastSlot() {
+        assertRemoveKeepsIndexConsistent(PROPERTIES);
+    }
+
+    @Test
+    void removeEverySlotInTurn() {
+        for (long id : new long[] { 1, PROPERTIES, 12, 2, 29, 17, 20 }) {
+            assertRemoveKeepsIndexConsistent(id);
+        }
+        index.remove(12L); // already gone
+        assertConsistent();
+    }
+
+    private void assertRemoveKeepsIndexConsistent(long id) {
+        index.remove(id);
+        locations.remove(id);
+
+        assertThat(index.contains(id)).isFalse();
+        assertConsistent();
+
+        // Upserts go through slotById: moving every remaining property to another
+        // cell must update its own slot, not the one that was compacted into
+        for (Map.Entry<Long, double[]> e : new ArrayList<>(locations.entrySet())) {
+            double[] at = e.getValue();
+            upsert(e.getKey(), at[0] + 0.3, at[1] - 0.2);
+        }
+        assertConsistent();
+    }
+
+    private void assertConsistent() {
+        assertThat(index.size()).isEqualTo(locations.size());
+        for (long id : locations.keySet()) {
+            assertThat(index.contains(id)).as("contains %d", id).isTrue();
+        }
+
+        // Without a box every slot is visited: ids and their columns must line up
+        PropertyIndex.Filter everything = PropertyIndex.Filter.forTenant(null, null, null);
+        Map<Long, Double> latitudes = new LinkedHashMap<>();
+        FeedCandidates all = index.score(everything,
+                (idx, slot) -> Double.isNaN(idx.latitude(slot)) ? -1.0 : idx.latitude(slot), null, Integer.MAX_VALUE);
+        for (int i = 0; i < all.size(); i++) {
+            latitudes.put(all.id(i), all.score(i));
+        }
+        assertThat(latitudes).hasSize(locations.size());
+        locations.forEach((id, at) -> assertThat(latitudes.get(id)).as("latitude of %d", id)
+                .isEqualTo(Double.isNaN(at[0]) ? -1.0 : at[0]));
+
+        for (double[] box : new double[][] {
+                { 44.35, 44.75, 26.00, 26.40 },
+                { 44.80, 45.50, 26.30, 27.00 },
+                { 43.00, 46.00, 25.00, 28.00 } }) {
+            assertThat(idsInBox(box)).as("box %s", Arrays.toString(box))
+                    .containsExactlyInAnyOrderElementsOf(expectedInBox(box));
+        }
+    }
+
+    private List<Long> idsInBox(double[] bounds) {
+        PreferencesService.BoundingBox box = new PreferencesService.BoundingBox();
+        box.minLatitude = bounds[0];
+        box.maxLatitude = bounds[1];
+        box.minLongitude = bounds[2];
+        box.maxLongitude = bounds[3];
+        FeedCandidates found = index.score(PropertyIndex.Filter.forTenant(null, new Preferences(), box),
+                (idx, slot) -> 0.0, null, Integer.MAX_VALUE);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            ids.add(found.id(i));
+        }
+        return ids;
+    }
+
+    private List<Long> expectedInBox(double[] bounds) {
+        List<Long> ids = new ArrayList<>();
+        locations.forEach((id, at) -> {
+            if (at[0] >= bounds[0] && at[0] <= bounds[1] && at[1] >= bounds[2] && at[1] <= bounds[3]) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    private void upsert(long id, double lat, double lon) {
+        index.upsert(new PropertyIndex.Row(id, "owner-" + (id % 3), BigDecimal.valueOf(500 + id), 50.0, 2,
+                LayoutType.values()[0], true, true, false, 0, lat, lon));
+        locations.put(id, new double[] { lat, lon });
+    }
+}
@@ -0,0 +1,86 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.enums.LayoutType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fork-join scoring pass must return exactly what the sequential one does.
+ */
+class PropertyIndexScoreTest {
+
+    private static final int PROPERTIES = 20_000; // several leaf tasks
+    private static final LayoutType[] LAYOUTS = LayoutType.values();
+
+    private static ForkJoinPool pool;
+    private static PropertyIndex index;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(4);
+        index = new PropertyIndex(null, null);
+        Random random = new Random(7);
+        for (int i = 0; i < PROPERTIES; i++) {
+            index.upsert(new PropertyIndex.Row(i + 1, "owner-" + random.nextInt(50),
+                    BigDecimal.valueOf(200 + random.nextInt(1800)), 25.0 + random.nextInt(125),
+                    1 + random.nextInt(5), LAYOUTS[random.nextInt(LAYOUTS.length)],
+                    random.nextBoolean(), random.nextBoolean(), random.nextBoolean(), random.nextInt(8),
+                    44.0 + random.nextDouble(), 25.6 + random.nextDouble()));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelMatchesSequentialWithoutSearchBox() {
+        PropertyIndex.Filter filter = PropertyIndex.Filter.forTenant("owner-3", null, null);
+
+        assertSameCandidates(filter);
+    }
+
+    @Test
+    void parallelMatchesSequentialWithSearchBox() {
+        Preferences prefs = new Preferences();
+        prefs.setMinPrice(BigDecimal.valueOf(300));
+        prefs.setMaxPrice(BigDecimal.valueOf(1500));
+        prefs.setMaxRooms(4);
+        prefs.setSearchLatitude(44.43);
+        prefs.setSearchLongitude(26.10);
+        prefs.setSearchRadiusKm(30.0);
+        PreferencesService.BoundingBox box = new PreferencesService().searchBoundingBox(prefs);
+        PropertyIndex.Filter filter = PropertyIndex.Filter.forTenant("owner-3", prefs, box);
+
+        assertSameCandidates(filter);
+    }
+
+    private static void assertSameCandidates(PropertyIndex.Filter filter) {
+        PropertyIndex.SlotScorer scorer = (idx, slot) -> {
+            long id = idx.id(slot);
+            if (id % 7 == 0) {
+                return Double.NaN; // dropped candidates must not shift the others
+            }
+            return idx.rooms(slot) * 10.0 + idx.flags(slot) + idx.latitude(slot);
+        };
+
+        FeedCandidates sequential = index.score(filter, scorer, pool, Integer.MAX_VALUE);
+        FeedCandidates parallel = index.score(filter, scorer, pool, 0);
+
+        assertThat(sequential.size()).isGreaterThan(0);
+        assertThat(parallel.size()).isEqualTo(sequential.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertThat(parallel.id(i)).as("id at %d", i).isEqualTo(sequential.id(i));
+            assertThat(parallel.score(i)).as("score at %d", i).isEqualTo(sequential.score(i));
+        }
+    }
+}
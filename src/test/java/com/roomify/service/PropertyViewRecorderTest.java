@@ -0,0 +1,108 @@
+package com.roomify.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PropertyViewRecorderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private List<Object[]> batches;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        batches = new ArrayList<>();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[1];
+            batches.add(args);
+            return args.length / 3;
+        });
+    }
+
+    @Test
+    void sameViewerIsLoggedOncePerWindow() {
+        PropertyViewRecorder recorder = new PropertyViewRecorder(jdbcTemplate, 100);
+
+        recorder.record(1L, "a");
+        recorder.record(1L, "a");
+        recorder.record(1L, "b");
+        recorder.record(2L, "a");
+
+        PropertyViewRecorder.Stats stats = recorder.stats();
+        assertThat(stats.accepted()).isEqualTo(3);
+        assertThat(stats.deduplicated()).isEqualTo(1);
+        assertThat(stats.queueDepth()).isEqualTo(3);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void flushWritesTheQueueInBatches() {
+        PropertyViewRecorder recorder = new PropertyViewRecorder(jdbcTemplate, 2_000);
+        for (int i = 0; i < 1_200; i++) {
+            recorder.record(i % 10, "viewer-" + i);
+        }
+
+        recorder.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).update(sql.capture(), any(Object[].class));
+        assertThat(batches).extracting(args -> args.length / 3).containsExactly(500, 500, 200);
+        assertThat(sql.getAllValues().get(0).split("CAST\\(\\? AS BIGINT\\)", -1)).hasSize(501);
+        assertThat(batches.get(0)[0]).isEqualTo(0L);
+        assertThat(batches.get(0)[1]).isEqualTo("viewer-0");
+
+        PropertyViewRecorder.Stats stats = recorder.stats();
+        assertThat(stats.written()).isEqualTo(1_200);
+        assertThat(stats.queueDepth()).isZero();
+    }
+
+    @Test
+    void fullQueueDropsTheViewAndLetsTheViewerRetry() {
+        PropertyViewRecorder recorder = new PropertyViewRecorder(jdbcTemplate, 2);
+
+        recorder.record(1L, "a");
+        recorder.record(1L, "b");
+        recorder.record(1L, "c");
+        assertThat(recorder.stats().dropped()).isEqualTo(1);
+
+        recorder.flush();
+        recorder.record(1L, "c");
+
+        PropertyViewRecorder.Stats stats = recorder.stats();
+        assertThat(stats.accepted()).isEqualTo(3);
+        assertThat(stats.deduplicated()).isZero();
+        assertThat(stats.queueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchIsCountedAndTheRestStillWritten() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenAnswer(invocation -> ((Object[]) invocation.getRawArguments()[1]).length / 3);
+        PropertyViewRecorder recorder = new PropertyViewRecorder(jdbcTemplate, 1_000);
+        for (int i = 0; i < 600; i++) {
+            recorder.record(1L, "viewer-" + i);
+        }
+
+        recorder.flush();
+
+        PropertyViewRecorder.Stats stats = recorder.stats();
+        assertThat(stats.failed()).isEqualTo(500);
+        assertThat(stats.written()).isEqualTo(100);
+        assertThat(stats.queueDepth()).isZero();
+    }
+}
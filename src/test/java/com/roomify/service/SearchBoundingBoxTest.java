@@ -0,0 +1,90 @@
+package com.roomify.service;
+
+import com.roomify.model.Preferences;
+import com.roomify.model.enums.LayoutType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchBoundingBoxTest {
+
+    private final PreferencesService preferencesService = new PreferencesService();
+
+    @Test
+    void boxAwayFromTheAntimeridianIsOneRange() {
+        PreferencesService.BoundingBox box = preferencesService.searchBoundingBox(search(44.43, 26.10, 30.0));
+
+        assertThat(box.crossesAntimeridian()).isFalse();
+        assertThat(box.minLongitude).isLessThan(26.10);
+        assertThat(box.maxLongitude).isGreaterThan(26.10);
+    }
+
+    @Test
+    void boxAcrossTheAntimeridianWraps() {
+        PreferencesService.BoundingBox east = preferencesService.searchBoundingBox(search(-17.7, 179.95, 30.0));
+        PreferencesService.BoundingBox west = preferencesService.searchBoundingBox(search(-17.7, -179.95, 30.0));
+
+        for (PreferencesService.BoundingBox box : List.of(east, west)) {
+            assertThat(box.crossesAntimeridian()).isTrue();
+            assertThat(box.minLongitude).isBetween(179.0, 180.0);
+            assertThat(box.maxLongitude).isBetween(-180.0, -179.0);
+        }
+    }
+
+    @Test
+    void circleAroundAPoleCoversEveryLongitude() {
+        PreferencesService.BoundingBox box = preferencesService.searchBoundingBox(search(89.9, 10.0, 50.0));
+
+        assertThat(box.maxLatitude).isEqualTo(90.0);
+        assertThat(box.minLongitude).isEqualTo(-180.0);
+        assertThat(box.maxLongitude).isEqualTo(180.0);
+    }
+
+    @Test
+    void indexFindsPropertiesOnBothSidesOfTheAntimeridian() {
+        PropertyIndex index = new PropertyIndex(null, null);
+        add(index, 1, -17.70, 179.90);
+        add(index, 2, -17.70, -179.90);
+        add(index, 3, -17.70, 178.00);
+        add(index, 4, -17.70, -178.00);
+
+        Preferences prefs = search(-17.7, 179.95, 30.0);
+        // Few populated cells: the grid walks its populated cells
+        assertThat(idsInSearchArea(index, prefs)).containsExactlyInAnyOrder(1L, 2L);
+
+        // Many populated cells: the grid walks the box's columns instead
+        for (int i = 0; i < 200; i++) {
+            add(index, 100 + i, -60.0 + i * 0.5, 10.0 + i);
+        }
+        assertThat(idsInSearchArea(index, prefs)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(idsInSearchArea(index, search(-17.7, -179.95, 30.0))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private List<Long> idsInSearchArea(PropertyIndex index, Preferences prefs) {
+        PropertyIndex.Filter filter = PropertyIndex.Filter.forTenant(null, prefs,
+                preferencesService.searchBoundingBox(prefs));
+        FeedCandidates found = index.score(filter, (idx, slot) -> 0.0, null, Integer.MAX_VALUE);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            ids.add(found.id(i));
+        }
+        return ids;
+    }
+
+    private static void add(PropertyIndex index, long id, double lat, double lon) {
+        index.upsert(new PropertyIndex.Row(id, "owner", BigDecimal.valueOf(500), 50.0, 2,
+                LayoutType.values()[0], true, true, false, 0, lat, lon));
+    }
+
+    private static Preferences search(double lat, double lon, double radiusKm) {
+        Preferences prefs = new Preferences();
+        prefs.setSearchLatitude(lat);
+        prefs.setSearchLongitude(lon);
+        prefs.setSearchRadiusKm(radiusKm);
+        return prefs;
+    }
+}
@@ -0,0 +1,190 @@
+package com.roomify.service;
+
+import com.roomify.model.Property;
+import com.roomify.model.User;
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.model.enums.PreferredTenantType;
+import com.roomify.repository.LeaseAgreementRepository;
+import com.roomify.repository.MatchRepository;
+import com.roomify.repository.PropertyRepository;
+import com.roomify.repository.RoleRepository;
+import com.roomify.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A swipe applied in place to a cached landlord feed must leave exactly the
+ * ranking a fresh rankTenants pass would compute from the new history (or a
+ * prefix of it, for a ranking cut to the requested pages).
+ */
+class TenantFeedCacheTest {
+
+    private static final String LANDLORD = "landlord";
+    private static final long PROPERTY = 42L;
+    private static final PreferredTenantType[] TYPES = PreferredTenantType.values();
+
+    private final Map<String, Object[]> landlordHistory = new LinkedHashMap<>();
+    private TenantFeedCache cache;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        PropertyRepository propertyRepository = mock(PropertyRepository.class);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // Every 4th tenant is untyped; 1 in 7 has pets (excluded by the property)
+            PreferredTenantType type = i % 4 == 0 ? null : TYPES[i % TYPES.length];
+            users.add(new Object[] { String.format("tenant-%02d", i), "USER", false, i % 7 == 3, false, type });
+        }
+        users.add(new Object[] { LANDLORD, "LANDLORD", false, false, false, null });
+        when(userRepository.findTenantIndexRows()).thenReturn(users);
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<User> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                found.add(User.builder().id((String) id).build());
+            }
+            return found;
+        });
+
+        Property property = Property.builder()
+                .id(PROPERTY)
+                .petFriendly(false)
+                .preferredTenants(Set.of(PreferredTenantType.STUDENT, PreferredTenantType.COUPLE))
+                .build();
+        when(propertyRepository.findById(anyLong())).thenReturn(Optional.of(property));
+        when(matchRepository.findLandlordHistoryRows(anyString(), anyLong()))
+                .thenAnswer(invocation -> new ArrayList<>(landlordHistory.values()));
+
+        TenantIndex tenantIndex = new TenantIndex(userRepository);
+        tenantIndex.rebuild();
+        cache = new TenantFeedCache(100);
+        userService = new UserService(userRepository, mock(RoleRepository.class), matchRepository,
+                propertyRepository, mock(LeaseAgreementRepository.class), mock(FeedCache.class), cache,
+                tenantIndex, null);
+
+        landlordHistory.put("tenant-05", new Object[] { "tenant-05", MatchStatus.LANDLORD_DECLINED, -30.0 });
+        landlordHistory.put("tenant-09", new Object[] { "tenant-09", MatchStatus.LANDLORD_LIKED, 0.0 });
+        landlordHistory.put("tenant-14", new Object[] { "tenant-14", MatchStatus.LANDLORD_DECLINED, -10.0 });
+    }
+
+    @Test
+    void landlordLikeRemovesTenant() {
+        assertSwipeKeepsCacheFresh("tenant-01", MatchStatus.LANDLORD_LIKED, 0.0);
+    }
+
+    @Test
+    void landlordPassRepositionsTenant() {
+        assertSwipeKeepsCacheFresh("tenant-06", MatchStatus.LANDLORD_DECLINED, -25.0);
+        assertSwipeKeepsCacheFresh("tenant-02", MatchStatus.LANDLORD_DECLINED, -20.0); // ties with untyped tenants
+    }
+
+    @Test
+    void landlordPassBelowZeroRemovesTenant() {
+        assertSwipeKeepsCacheFresh("tenant-08", MatchStatus.LANDLORD_DECLINED, -60.0);
+    }
+
+    @Test
+    void tenantDeclineClearsLandlordPenalty() {
+        assertSwipeKeepsCacheFresh("tenant-05", MatchStatus.TENANT_DECLINED, -45.0);
+    }
+
+    @Test
+    void deletedMatchRestoresBaseScore() {
+        assertSwipeKeepsCacheFresh("tenant-14", null, 0.0);
+    }
+
+    private void assertSwipeKeepsCacheFresh(String tenantId, MatchStatus status, double matchScore) {
+        List<String> before = feedIds();
+        assertThat(cache.get(LANDLORD, PROPERTY, before.size())).isEqualTo(before);
+
+        swipe(tenantId, status, matchScore);
+
+        List<String> cached = cache.get(LANDLORD, PROPERTY, 0);
+        cache.invalidateAll();
+        List<String> fresh = feedIds();
+
+        assertThat(cached).as("cached ranking after %s by %s", status, tenantId).isNotNull();
+        assertThat(cached).isEqualTo(fresh);
+        assertThat(cached).isNotEqualTo(before);
+    }
+
+    @Test
+    void pagesMatchTheFullRanking() {
+        List<String> full = feedIds();
+        cache.invalidateAll();
+
+        List<String> paged = new ArrayList<>();
+        for (int page = 0; page * 7 < full.size() + 7; page++) {
+            paged.addAll(pageIds(page, 7));
+        }
+        assertThat(paged).isEqualTo(full);
+    }
+
+    @Test
+    void swipesOnAPartialRankingKeepItAPrefix() {
+        List<String> full = feedIds();
+        cache.invalidateAll();
+        List<String> firstPage = pageIds(0, 8);
+        assertThat(firstPage).isEqualTo(full.subList(0, 8));
+
+        // Declined hard enough to fall below the window: it cannot stay at the tail
+        String last = firstPage.get(7);
+        swipe(last, MatchStatus.LANDLORD_DECLINED, -45.0);
+        // A like on the first card just removes it
+        swipe(firstPage.get(0), MatchStatus.LANDLORD_LIKED, 0.0);
+        // A light pass moves a card down inside the window
+        swipe(firstPage.get(1), MatchStatus.LANDLORD_DECLINED, -1.0);
+
+        List<String> cached = cache.get(LANDLORD, PROPERTY, 0);
+        cache.invalidateAll();
+        List<String> fresh = feedIds();
+        assertThat(cached).isNotNull().doesNotContain(last).hasSizeLessThan(8);
+        assertThat(cached).isEqualTo(fresh.subList(0, cached.size()));
+    }
+
+    @Test
+    void largerPageRanksAgain() {
+        pageIds(0, 5);
+        assertThat(cache.get(LANDLORD, PROPERTY, 5)).hasSize(5);
+        assertThat(cache.get(LANDLORD, PROPERTY, 10)).isNull();
+
+        List<String> secondPage = pageIds(1, 5);
+        assertThat(cache.get(LANDLORD, PROPERTY, 10)).hasSize(10).endsWith(secondPage.toArray(new String[0]));
+    }
+
+    private void swipe(String tenantId, MatchStatus status, double matchScore) {
+        // What MatchService persists, then what it signals after commit
+        if (status != null && (TenantFeedCache.hidesTenant(status) || status == MatchStatus.LANDLORD_DECLINED)) {
+            landlordHistory.put(tenantId, new Object[] { tenantId, status, matchScore });
+        } else {
+            landlordHistory.remove(tenantId);
+        }
+        cache.onMatchChanged(PROPERTY, tenantId, status, matchScore);
+    }
+
+    private List<String> pageIds(int page, int size) {
+        return userService.getTenantFeed(LANDLORD, PROPERTY, page, size).stream().map(User::getId).toList();
+    }
+
+    private List<String> feedIds() {
+        List<User> feed = userService.getTenantFeed(LANDLORD, PROPERTY);
+        return feed.stream().map(User::getId).toList();
+    }
+}
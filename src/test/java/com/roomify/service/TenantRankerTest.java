@@ -0,0 +1,50 @@
+package com.roomify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantRankerTest {
+
+    private record Scored(String id, double base, double history) {
+        double total() {
+            return base + history;
+        }
+    }
+
+    @Test
+    void keepsTheBestKInRankingOrder() {
+        Random random = new Random(3);
+        List<Scored> tenants = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            // Few distinct totals, so most of the order comes from the id tie-break
+            tenants.add(new Scored("tenant-" + random.nextInt(1_000_000), 30 + 20 * random.nextInt(3),
+                    random.nextInt(4) == 0 ? -10.0 * random.nextInt(3) : 0.0));
+        }
+        List<String> sorted = tenants.stream()
+                .sorted(Comparator.comparingDouble(Scored::total).reversed().thenComparing(Scored::id))
+                .map(Scored::id)
+                .toList();
+
+        for (int k : new int[] { 1, 10, 500, tenants.size(), Integer.MAX_VALUE }) {
+            TenantRanker ranker = new TenantRanker(k);
+            tenants.forEach(t -> ranker.offer(t.id(), t.base(), t.history()));
+
+            List<String> expected = sorted.subList(0, Math.min(k, sorted.size()));
+            assertThat(ranker.toRanking(1L).tenantIds()).as("k=%d", k).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void zeroKKeepsNothing() {
+        TenantRanker ranker = new TenantRanker(0);
+        ranker.offer("a", 50.0, 0.0);
+
+        assertThat(ranker.toRanking(1L).tenantIds()).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.roomify.service;
+
+import com.roomify.model.enums.MatchStatus;
+import com.roomify.repository.MatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingCountersTest {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private MatchRepository matchRepository;
+    private TrendingCounters counters;
+    private long currentHourStart;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository = mock(MatchRepository.class);
+        counters = new TrendingCounters(matchRepository);
+        currentHourStart = System.currentTimeMillis() / HOUR_MILLIS * HOUR_MILLIS;
+    }
+
+    @Test
+    void rebuildCountsTheWindowWhateverTheRowOrder() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(like(1L, currentHourStart + 60_000));
+        rows.add(like(1L, currentHourStart + 120_000));
+        rows.add(like(1L, currentHourStart - 47 * HOUR_MILLIS)); // oldest hour still in the window
+        rows.add(like(1L, currentHourStart - 48 * HOUR_MILLIS + 60_000)); // same slot as the current hour
+        rows.add(like(2L, currentHourStart - 48 * HOUR_MILLIS + 60_000));
+
+        for (int shuffle = 0; shuffle < 20; shuffle++) {
+            Collections.shuffle(rows);
+            when(matchRepository.findRecentLikeRows(any())).thenReturn(new ArrayList<>(rows));
+            counters.rebuild();
+
+            assertThat(counters.recentLikes(1L)).as("order %d", shuffle).isEqualTo(3);
+            assertThat(counters.recentLikes(2L)).isZero();
+        }
+    }
+
+    @Test
+    void rebuildReadsFromTheStartOfTheOldestHourSummed() {
+        when(matchRepository.findRecentLikeRows(any())).thenReturn(List.of());
+        counters.rebuild();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(matchRepository).findRecentLikeRows(since.capture());
+        long sinceMillis = Timestamp.valueOf(since.getValue()).getTime();
+        assertThat(sinceMillis % HOUR_MILLIS).isZero();
+        assertThat(sinceMillis).isEqualTo(currentHourStart - 47 * HOUR_MILLIS);
+    }
+
+    @Test
+    void likeOlderThanTheSlotsHourIsIgnored() {
+        counters.add(1L, currentHourStart + 1_000);
+        counters.add(1L, currentHourStart - 48 * HOUR_MILLIS);
+        counters.add(1L, currentHourStart + 2_000);
+
+        assertThat(counters.recentLikes(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void likeThatBecomesAMatchIsCountedOnce() {
+        counters.onStatusChangedAfterCommit(1L, null, MatchStatus.TENANT_LIKED);
+        counters.onStatusChangedAfterCommit(1L, MatchStatus.TENANT_LIKED, MatchStatus.MATCHED);
+        counters.onStatusChangedAfterCommit(1L, null, MatchStatus.TENANT_DECLINED);
+
+        assertThat(counters.recentLikes(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void sweepDropsPropertiesWithoutRecentLikes() {
+        counters.add(1L, currentHourStart - 49 * HOUR_MILLIS);
+        counters.add(2L, currentHourStart);
+
+        counters.sweep();
+
+        assertThat(counters.recentLikes(1L)).isZero();
+        assertThat(counters.recentLikes(2L)).isEqualTo(1);
+    }
+
+    private static Object[] like(long propertyId, long atMillis) {
+        return new Object[] { propertyId, new Timestamp(atMillis).toLocalDateTime() };
+    }
+}